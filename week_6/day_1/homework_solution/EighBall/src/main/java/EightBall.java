@@ -1,20 +1,26 @@
 import java.util.ArrayList;
-import java.util.Collections;
 
 /**
  * Created by user on 26/02/2018.
  */
 public class EightBall {
     private ArrayList<String> answers;
+    private Sampler sampler;
 
     public EightBall(ArrayList<String> answers){
+        this(answers, Sampler.current().split());
+    }
+
+    // Picks answers with the given Sampler, so a seeded one gives the same answers every time
+    public EightBall(ArrayList<String> answers, Sampler sampler){
         this.answers = answers;
+        this.sampler = sampler;
     }
 
 
+    // Picks one answer by index, leaving the list in order
     public String returnRandomAnswer(){
-        Collections.shuffle(this.answers);
-        return this.answers.get(0);
+        return this.sampler.sample(this.answers);
     }
 
     public void addAnswer(String answer){
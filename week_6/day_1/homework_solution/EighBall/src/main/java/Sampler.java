@@ -0,0 +1,48 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Picks uniformly random elements in O(1), driven by a SplittableRandom instead of the shared
+// generator behind Collections.shuffle and Math.random. Give it a seed to get the same picks every
+// run; current() gives each thread its own, so threads never contend on a shared seed.
+// A Sampler is not thread-safe: use it from one thread, or split it.
+public class Sampler {
+
+    // Set -Dsampler.seed to make every thread's generator reproducible, given the same threads ask in the same order
+    private static final SplittableRandom ROOT = Long.getLong("sampler.seed") == null
+            ? new SplittableRandom() : new SplittableRandom(Long.getLong("sampler.seed"));
+    private static final ThreadLocal<Sampler> CURRENT = ThreadLocal.withInitial(Sampler::splitRoot);
+
+    private final SplittableRandom random;
+
+    public Sampler(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private Sampler(SplittableRandom random) {
+        this.random = random;
+    }
+
+    // This thread's own Sampler
+    public static Sampler current() {
+        return CURRENT.get();
+    }
+
+    private static Sampler splitRoot() {
+        synchronized (ROOT) {
+            return new Sampler(ROOT.split());
+        }
+    }
+
+    // A new, independent Sampler derived from this one
+    public Sampler split() {
+        return new Sampler(random.split());
+    }
+
+    // A uniformly random element, in O(1) for lists like ArrayList that support fast random access
+    public <T> T sample(List<T> items) {
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Can't sample from an empty list");
+        }
+        return items.get(random.nextInt(items.size()));
+    }
+}
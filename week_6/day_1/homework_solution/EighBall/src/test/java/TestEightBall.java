@@ -53,4 +53,20 @@ public class TestEightBall {
         eightBall.removeAnswer(answer4);
         assertEquals(3, eightBall.getNumberOfAnswers());
     }
+
+    @Test
+    public void sameSeedGivesSameAnswers(){
+        EightBall first = new EightBall(answers, new Sampler(42));
+        EightBall second = new EightBall(answers, new Sampler(42));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(first.returnRandomAnswer(), second.returnRandomAnswer());
+        }
+    }
+
+    @Test
+    public void returningAnAnswerLeavesAnswersInOrder(){
+        ArrayList<String> before = new ArrayList<String>(answers);
+        eightBall.returnRandomAnswer();
+        assertEquals(before, answers);
+    }
 }
@@ -0,0 +1,56 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+
+public class TestSampler {
+    private ArrayList<Integer> items;
+
+    @Before
+    public void before(){
+        items = new ArrayList<Integer>();
+        for (int i = 0; i < 10; i++) {
+            items.add(i);
+        }
+    }
+
+    @Test
+    public void sameSeedGivesSameSamples(){
+        Sampler first = new Sampler(42);
+        Sampler second = new Sampler(42);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(first.sample(items), second.sample(items));
+        }
+    }
+
+    @Test
+    public void samplesAreRoughlyUniform(){
+        Sampler sampler = new Sampler(1);
+        int[] counts = new int[items.size()];
+        for (int i = 0; i < 100000; i++) {
+            counts[sampler.sample(items)]++;
+        }
+        for (int count : counts) {
+            assertEquals(10000, count, 500);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cantSampleFromNothing(){
+        new Sampler(1).sample(new ArrayList<Integer>());
+    }
+
+    @Test
+    public void eachThreadHasItsOwnSampler() throws InterruptedException {
+        final Sampler[] other = new Sampler[1];
+        Thread thread = new Thread(() -> other[0] = Sampler.current());
+        thread.start();
+        thread.join();
+        assertSame(Sampler.current(), Sampler.current());
+        assertNotSame(Sampler.current(), other[0]);
+    }
+}
@@ -1,4 +1,16 @@
 public class Card {
+    private static final int RANKS = Rank.values().length;
+    // One shared Card per suit and rank, indexed by code
+    private static final Card[] CARDS = new Card[Suit.values().length * RANKS];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                CARDS[code(suit, rank)] = new Card(suit, rank);
+            }
+        }
+    }
+
     private Suit suit;
     private Rank rank;
 
@@ -7,6 +19,24 @@ public class Card {
         this.rank = rank;
     }
 
+    // The shared card for a suit and rank; cards are immutable, so there's no need for a new one
+    public static Card of(Suit suit, Rank rank) {
+        return CARDS[code(suit, rank)];
+    }
+
+    public static Card of(int code) {
+        return CARDS[code];
+    }
+
+    // A card as one number from 0 to 51: suit ordinal * 13 + rank ordinal
+    public static int code(Suit suit, Rank rank) {
+        return suit.ordinal() * RANKS + rank.ordinal();
+    }
+
+    public static int valueOf(int code) {
+        return CARDS[code].getValue();
+    }
+
     public Suit getSuit() {
         return suit;
     }
@@ -19,6 +49,10 @@ public class Card {
         return this.rank.getValue();
     }
 
+    public int getCode() {
+        return code(suit, rank);
+    }
+
     public String prettyName(){
         return (rank.getName() + " of " + suit.getSuit());
     }
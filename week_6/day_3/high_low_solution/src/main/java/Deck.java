@@ -1,33 +1,56 @@
-import java.util.ArrayList;
-import java.util.Collections;
-
+// The 52 cards as byte codes (see Card.code) in a fixed array, dealt from a cursor instead of removed
+// from the front of a list. Drawing hands out the shared Card for each code, and reset() gathers the
+// cards back, so one Deck can deal any number of games without allocating.
+// The cards aren't shuffled up front: each draw swaps a random undealt card to the cursor, which is one
+// step of Fisher-Yates, so dealing a few cards costs a few swaps rather than a full shuffle.
 public class Deck {
 
-    private ArrayList<Card> cards;
+    public static final int SIZE = Suit.values().length * Rank.values().length;
+
+    private final byte[] cards;
+    private final Shuffler shuffler;
+    private int next;
 
     public Deck(){
-        cards = new ArrayList<>();
+        this(Shuffler.current().split());
+    }
+
+    // Dealt with the given Shuffler, so a seeded one deals the same games every time
+    public Deck(Shuffler shuffler){
+        this.cards = new byte[SIZE];
+        this.shuffler = shuffler;
         generateDeck();
-        shuffle();
     }
 
     public int getNumberOfCards(){
-        return cards.size();
+        return SIZE - next;
     }
 
     private void generateDeck(){
-        for(Suit suit : Suit.values()){
-            for(Rank rank : Rank.values()){
-                cards.add(new Card(suit, rank));
-            }
+        for (int code = 0; code < SIZE; code++) {
+            cards[code] = (byte) code;
         }
     }
 
+    // Shuffles the cards still to be dealt. Draws are random anyway; this only reorders what's left.
     public void shuffle(){
-        Collections.shuffle(cards);
+        shuffler.shuffle(cards, next, SIZE);
+    }
+
+    // Puts every dealt card back
+    public void reset(){
+        next = 0;
     }
 
     public Card getCard(){
-        return cards.remove(0);
+        return Card.of(drawCode());
+    }
+
+    // The next card's code, for callers that only need its value or identity
+    public int drawCode(){
+        if (next == SIZE) {
+            throw new IllegalStateException("The deck is empty");
+        }
+        return shuffler.draw(cards, next++, SIZE);
     }
 }
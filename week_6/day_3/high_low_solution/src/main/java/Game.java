@@ -1,38 +1,88 @@
 import java.util.ArrayList;
+import java.util.List;
 
 public class Game {
+    public static final int DEFAULT_CARDS_PER_PLAYER = 2;
+
     private Deck deck;
     private ArrayList<Player> players;
+    private int cardsPerPlayer;
 
     public Game( Deck deck, ArrayList<Player> players) {
+        this(deck, players, DEFAULT_CARDS_PER_PLAYER);
+    }
+
+    public Game(Deck deck, ArrayList<Player> players, int cardsPerPlayer) {
+        if (cardsPerPlayer < 1) {
+            throw new IllegalArgumentException("Each player needs at least one card");
+        }
+        if (players.size() * cardsPerPlayer > Deck.SIZE) {
+            throw new IllegalArgumentException("Can't deal " + cardsPerPlayer + " cards each to "
+                    + players.size() + " players from one deck");
+        }
         this.deck = deck;
         this.players = players;
+        this.cardsPerPlayer = cardsPerPlayer;
     }
 
+    public Deck getDeck() {
+        return deck;
+    }
 
-    public void play() {
+    // The winner, or null for a draw
+    public Player play() {
         deal();
-        Player winner = checkWinner();
-
+        return checkWinner();
     }
 
+    // Takes back every player's cards and returns them to the deck, ready to play again
+    public void reset() {
+        for (Player player : players) {
+            player.getHand().clear();
+        }
+        deck.reset();
+    }
 
     public void deal(){
         for (Player player : players){
-            for(int i = 0; i<2; i++) {
+            for(int i = 0; i<cardsPerPlayer; i++) {
                 player.addCardToHand(deck.getCard());
             }
         }
     }
 
+    // The one player with the highest hand, or null if two or more share it
     public Player checkWinner(){
-        Player player1 = players.get(0);
-        Player player2 = players.get(1);
-        if (player1.getHandValue() == player2.getHandValue()){
-            return null;
-        } else {
-            return player1.getHandValue() > player2.getHandValue() ?  player1 :  player2;
+        Player winner = null;
+        int best = Integer.MIN_VALUE;
+        boolean tied = false;
+        for (Player player : players) {
+            int value = player.getHandValue();
+            if (value > best) {
+                best = value;
+                winner = player;
+                tied = false;
+            } else if (value == best) {
+                tied = true;
+            }
         }
+        return tied ? null : winner;
+    }
 
+    // Everyone with the highest hand, in seating order
+    public List<Player> getWinners(){
+        List<Player> winners = new ArrayList<>();
+        int best = Integer.MIN_VALUE;
+        for (Player player : players) {
+            int value = player.getHandValue();
+            if (value > best) {
+                best = value;
+                winners.clear();
+            }
+            if (value == best) {
+                winners.add(player);
+            }
+        }
+        return winners;
     }
 }
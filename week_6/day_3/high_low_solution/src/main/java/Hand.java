@@ -27,4 +27,8 @@ public class Hand {
         this.value += card.getValue();
     }
 
+    public void clear() {
+        this.cards.clear();
+        this.value = 0;
+    }
 }
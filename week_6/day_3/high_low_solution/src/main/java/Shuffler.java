@@ -0,0 +1,101 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Shuffling and sampling over primitive arrays, in place and without allocating, driven by a
+// SplittableRandom instead of the shared generator behind Collections.shuffle and Math.random.
+// Give it a seed to get the same shuffles every run; split() hands a fork/join task its own
+// generator, and current() gives each thread one, so threads never contend on a shared seed.
+// A Shuffler is not thread-safe: use it from one thread, or split it.
+public class Shuffler {
+
+    // Set -Dshuffler.seed to make every thread's generator reproducible, given the same threads ask in the same order
+    private static final SplittableRandom ROOT = Long.getLong("shuffler.seed") == null
+            ? new SplittableRandom() : new SplittableRandom(Long.getLong("shuffler.seed"));
+    private static final ThreadLocal<Shuffler> CURRENT = ThreadLocal.withInitial(Shuffler::splitRoot);
+
+    private final SplittableRandom random;
+
+    public Shuffler(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private Shuffler(SplittableRandom random) {
+        this.random = random;
+    }
+
+    // This thread's own Shuffler
+    public static Shuffler current() {
+        return CURRENT.get();
+    }
+
+    private static Shuffler splitRoot() {
+        synchronized (ROOT) {
+            return new Shuffler(ROOT.split());
+        }
+    }
+
+    // A new, independent Shuffler derived from this one, for handing to another task
+    public Shuffler split() {
+        return new Shuffler(random.split());
+    }
+
+    // A uniformly random index from 0 to bound - 1
+    public int nextIndex(int bound) {
+        return random.nextInt(bound);
+    }
+
+    // A uniformly random element, in O(1) for lists like ArrayList that support fast random access
+    public <T> T sample(List<T> items) {
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Can't sample from an empty list");
+        }
+        return items.get(random.nextInt(items.size()));
+    }
+
+    public void shuffle(int[] items) {
+        shuffle(items, 0, items.length);
+    }
+
+    // Fisher-Yates over items[from] to items[to - 1]
+    public void shuffle(int[] items, int from, int to) {
+        for (int i = to - 1; i > from; i--) {
+            swap(items, i, from + random.nextInt(i - from + 1));
+        }
+    }
+
+    public void shuffle(byte[] items, int from, int to) {
+        for (int i = to - 1; i > from; i--) {
+            swap(items, i, from + random.nextInt(i - from + 1));
+        }
+    }
+
+    // Moves k uniformly chosen items, in random order, to the front of the array, touching only k
+    // positions; the rest of the array is left in some order of the remaining items
+    public void partialShuffle(int[] items, int k) {
+        if (k < 0 || k > items.length) {
+            throw new IllegalArgumentException("Can't draw " + k + " of " + items.length + " items");
+        }
+        for (int i = 0; i < k; i++) {
+            swap(items, i, i + random.nextInt(items.length - i));
+        }
+    }
+
+    // Swaps a uniformly chosen item from items[from] to items[to - 1] into items[from] and returns it:
+    // one step of Fisher-Yates, so drawing k items this way costs k steps rather than a full shuffle
+    public byte draw(byte[] items, int from, int to) {
+        swap(items, from, from + random.nextInt(to - from));
+        return items[from];
+    }
+
+    private static void swap(int[] items, int i, int j) {
+        int item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+
+    private static void swap(byte[] items, int i, int j) {
+        byte item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+}
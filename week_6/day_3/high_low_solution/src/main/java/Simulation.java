@@ -0,0 +1,109 @@
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Plays Game over and over to estimate the odds of winning. The rounds are split in half recursively
+// into fork/join tasks, and each task splits its own Shuffler off its parent's, so the same
+// seed gives the same results however many threads run it. Each leaf plays its rounds on one Game,
+// resetting it between rounds.
+//
+//   java Simulation [rounds] [seed]           prints win/draw/loss odds, by the first player's hand value
+//   java Simulation --benchmark [rounds]      times the same run on 1, 2, 4... threads
+public class Simulation {
+
+    private static final long DEFAULT_ROUNDS = 10_000_000;
+    private static final long ROUNDS_PER_TASK = 50_000;
+
+    private final long rounds;
+    private final long seed;
+
+    public Simulation(long rounds, long seed) {
+        this.rounds = rounds;
+        this.seed = seed;
+    }
+
+    public SimulationResults run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    public SimulationResults run(ForkJoinPool pool) {
+        return pool.invoke(new Rounds(rounds, new Shuffler(seed)));
+    }
+
+    private static class Rounds extends RecursiveTask<SimulationResults> {
+        private final long count;
+        private final Shuffler shuffler;
+
+        private Rounds(long count, Shuffler shuffler) {
+            this.count = count;
+            this.shuffler = shuffler;
+        }
+
+        @Override
+        protected SimulationResults compute() {
+            if (count <= ROUNDS_PER_TASK) {
+                return play();
+            }
+            Rounds firstHalf = new Rounds(count / 2, shuffler.split());
+            Rounds secondHalf = new Rounds(count - count / 2, shuffler);
+            firstHalf.fork();
+            SimulationResults results = secondHalf.compute();
+            return results.merge(firstHalf.join());
+        }
+
+        private SimulationResults play() {
+            Player player1 = new Player("Player 1", new Hand());
+            Player player2 = new Player("Player 2", new Hand());
+            ArrayList<Player> players = new ArrayList<>();
+            players.add(player1);
+            players.add(player2);
+            Game game = new Game(new Deck(shuffler), players);
+
+            SimulationResults results = new SimulationResults();
+            for (long round = 0; round < count; round++) {
+                if (round > 0) {
+                    game.reset();
+                }
+                Player winner = game.play();
+                results.record(player1.getHandValue(), winner, player1);
+            }
+            return results;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--benchmark")) {
+            benchmark(args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_ROUNDS);
+            return;
+        }
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_ROUNDS;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        System.out.println("seed " + seed);
+        System.out.print(new Simulation(rounds, seed).run().report());
+    }
+
+    private static void benchmark(long rounds) {
+        Simulation simulation = new Simulation(rounds, 42);
+        // Warms up the JIT before anything is timed
+        simulation.run();
+        SimulationResults expected = null;
+        double singleThreadSeconds = 0;
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long start = System.nanoTime();
+            SimulationResults results = simulation.run(pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+            if (threads == 1) {
+                expected = results;
+                singleThreadSeconds = seconds;
+            }
+            System.out.printf("%3d threads: %,.0f rounds/s  speedup %.2f  %s%n", threads, rounds / seconds,
+                    singleThreadSeconds / seconds, results.equals(expected) ? "same results" : "DIFFERENT RESULTS");
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import java.util.Arrays;
+
+// Counts of Game outcomes from the first player's side, overall and by the value of their hand
+public class SimulationResults {
+
+    // Two aces, the best two-card hand
+    private static final int MAX_HAND_VALUE = 2 * Rank.ACE.getValue();
+
+    private final long[] wins = new long[MAX_HAND_VALUE + 1];
+    private final long[] draws = new long[MAX_HAND_VALUE + 1];
+    private final long[] losses = new long[MAX_HAND_VALUE + 1];
+
+    void record(int handValue, Player winner, Player player) {
+        if (winner == null) {
+            draws[handValue]++;
+        } else if (winner == player) {
+            wins[handValue]++;
+        } else {
+            losses[handValue]++;
+        }
+    }
+
+    SimulationResults merge(SimulationResults other) {
+        for (int value = 0; value <= MAX_HAND_VALUE; value++) {
+            wins[value] += other.wins[value];
+            draws[value] += other.draws[value];
+            losses[value] += other.losses[value];
+        }
+        return this;
+    }
+
+    public long getRounds() {
+        return getWins() + getDraws() + getLosses();
+    }
+
+    public long getWins() {
+        return sum(wins);
+    }
+
+    public long getDraws() {
+        return sum(draws);
+    }
+
+    public long getLosses() {
+        return sum(losses);
+    }
+
+    public long getWins(int handValue) {
+        return wins[handValue];
+    }
+
+    public long getDraws(int handValue) {
+        return draws[handValue];
+    }
+
+    public long getLosses(int handValue) {
+        return losses[handValue];
+    }
+
+    public double getWinProbability() {
+        return (double) getWins() / getRounds();
+    }
+
+    public double getDrawProbability() {
+        return (double) getDraws() / getRounds();
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%,d rounds: win %.4f  draw %.4f  lose %.4f%n",
+                getRounds(), getWinProbability(), getDrawProbability(), (double) getLosses() / getRounds()));
+        report.append(String.format("%5s %12s %8s %8s %8s%n", "hand", "rounds", "win", "draw", "lose"));
+        for (int value = 0; value <= MAX_HAND_VALUE; value++) {
+            long rounds = wins[value] + draws[value] + losses[value];
+            if (rounds > 0) {
+                report.append(String.format("%5d %,12d %8.4f %8.4f %8.4f%n", value, rounds,
+                        (double) wins[value] / rounds, (double) draws[value] / rounds, (double) losses[value] / rounds));
+            }
+        }
+        return report.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof SimulationResults)) {
+            return false;
+        }
+        SimulationResults results = (SimulationResults) other;
+        return Arrays.equals(wins, results.wins)
+                && Arrays.equals(draws, results.draws)
+                && Arrays.equals(losses, results.losses);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(wins) * 31 + Arrays.hashCode(draws);
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,136 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Running tournament statistics, updated by every table at once without locks.
+// Each entrant has a slot in atomic arrays; totals across all tables are LongAdders, which spread
+// concurrent increments over separate cells instead of contending on one counter.
+public class Standings {
+
+    private final String[] names;
+    private final AtomicIntegerArray roundsWon;
+    private final AtomicIntegerArray handsPlayed;
+    private final AtomicIntegerArray handsWon;
+    private final AtomicIntegerArray handsShared;
+    private final LongAdder totalHands = new LongAdder();
+    private final LongAdder tiedHands = new LongAdder();
+    private final LongAdder tables = new LongAdder();
+    private volatile int champion = -1;
+
+    public Standings(String[] names) {
+        this.names = names;
+        this.roundsWon = new AtomicIntegerArray(names.length);
+        this.handsPlayed = new AtomicIntegerArray(names.length);
+        this.handsWon = new AtomicIntegerArray(names.length);
+        this.handsShared = new AtomicIntegerArray(names.length);
+    }
+
+    // One hand at a table: everyone seated played it, and the entrants holding the best hand won it,
+    // outright if there was only one of them
+    void recordHand(int[] entrants, int[] handValues, int seated) {
+        int best = Integer.MIN_VALUE;
+        int leaders = 0;
+        for (int seat = 0; seat < seated; seat++) {
+            if (handValues[seat] > best) {
+                best = handValues[seat];
+                leaders = 0;
+            }
+            if (handValues[seat] == best) {
+                leaders++;
+            }
+        }
+        totalHands.increment();
+        if (leaders > 1) {
+            tiedHands.increment();
+        }
+        for (int seat = 0; seat < seated; seat++) {
+            handsPlayed.incrementAndGet(entrants[seat]);
+            if (handValues[seat] == best) {
+                (leaders == 1 ? handsWon : handsShared).incrementAndGet(entrants[seat]);
+            }
+        }
+    }
+
+    // The entrant goes through to the next round, having won their table or sat out the round with a bye
+    void recordAdvance(int entrant, boolean bye) {
+        if (!bye) {
+            tables.increment();
+        }
+        roundsWon.incrementAndGet(entrant);
+    }
+
+    void recordChampion(int entrant) {
+        champion = entrant;
+    }
+
+    public int getEntrants() {
+        return names.length;
+    }
+
+    public String getName(int entrant) {
+        return names[entrant];
+    }
+
+    public int getRoundsWon(int entrant) {
+        return roundsWon.get(entrant);
+    }
+
+    public int getHandsPlayed(int entrant) {
+        return handsPlayed.get(entrant);
+    }
+
+    public int getHandsWon(int entrant) {
+        return handsWon.get(entrant);
+    }
+
+    public int getHandsShared(int entrant) {
+        return handsShared.get(entrant);
+    }
+
+    // The last entrant standing, or -1 until the tournament has finished
+    public int getChampion() {
+        return champion;
+    }
+
+    public long getTotalHands() {
+        return totalHands.sum();
+    }
+
+    public long getTiedHands() {
+        return tiedHands.sum();
+    }
+
+    public long getTables() {
+        return tables.sum();
+    }
+
+    // The top entrants: furthest through the rounds first, then most hands won outright
+    public List<Integer> getLeaders(int count) {
+        List<Integer> entrants = new ArrayList<>();
+        for (int entrant = 0; entrant < names.length; entrant++) {
+            entrants.add(entrant);
+        }
+        entrants.sort(Comparator.comparingInt(this::getRoundsWon).reversed()
+                .thenComparing(Comparator.comparingInt(this::getHandsWon).reversed())
+                .thenComparingInt(entrant -> entrant));
+        return entrants.subList(0, Math.min(count, entrants.size()));
+    }
+
+    public String report(int count) {
+        StringBuilder report = new StringBuilder();
+        if (champion >= 0) {
+            report.append("champion ").append(names[champion]).append(String.format("%n"));
+        }
+        report.append(String.format("%,d tables, %,d hands, %.4f of them tied at the top%n",
+                getTables(), getTotalHands(), (double) getTiedHands() / Math.max(1, getTotalHands())));
+        report.append(String.format("%5s %-16s %7s %8s %8s %8s%n", "place", "name", "rounds", "played", "won", "shared"));
+        int place = 1;
+        for (int entrant : getLeaders(count)) {
+            report.append(String.format("%5d %-16s %7d %8d %8d %8d%n", place++, names[entrant],
+                    getRoundsWon(entrant), getHandsPlayed(entrant), getHandsWon(entrant), getHandsShared(entrant)));
+        }
+        return report.toString();
+    }
+}
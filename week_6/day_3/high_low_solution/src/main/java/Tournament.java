@@ -0,0 +1,212 @@
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// A knockout tournament of high-low. Each round the remaining entrants are shuffled and seated at tables
+// of up to tableSize, with the tables as even as possible; an entrant left alone at a table has a bye.
+// Every table plays handsPerMatch hands and whoever wins the most goes through, with sudden-death
+// hands between those level on wins. Rounds repeat until one entrant is left.
+//
+// All of a round's tables are played at once: the range of tables is halved recursively into fork/join
+// tasks, so idle threads steal whole blocks of tables. Each table gets its own Shuffler, split
+// off the tournament's in table order before anything is forked, so the same seed crowns the same
+// champion however many threads run it. Tables report into a shared Standings, which only uses atomic
+// counters.
+//
+//   java Tournament [entrants] [tableSize] [handsPerMatch] [seed]
+public class Tournament {
+
+    private static final int DEFAULT_ENTRANTS = 100_000;
+    private static final int DEFAULT_TABLE_SIZE = 6;
+    private static final int DEFAULT_HANDS_PER_MATCH = 5;
+    private static final int TABLES_PER_TASK = 64;
+
+    private final String[] names;
+    private final int tableSize;
+    private final int handsPerMatch;
+    private final int cardsPerPlayer;
+    private final long seed;
+
+    public Tournament(int entrants, int tableSize, int handsPerMatch, long seed) {
+        this(entrantNames(entrants), tableSize, handsPerMatch, Game.DEFAULT_CARDS_PER_PLAYER, seed);
+    }
+
+    public Tournament(String[] names, int tableSize, int handsPerMatch, int cardsPerPlayer, long seed) {
+        if (names.length == 0) {
+            throw new IllegalArgumentException("A tournament needs at least one entrant");
+        }
+        if (cardsPerPlayer < 1) {
+            throw new IllegalArgumentException("Each player needs at least one card");
+        }
+        if (tableSize < 2 || tableSize * cardsPerPlayer > Deck.SIZE) {
+            throw new IllegalArgumentException("Can't seat " + tableSize + " players with "
+                    + cardsPerPlayer + " cards each at one table");
+        }
+        if (handsPerMatch < 1) {
+            throw new IllegalArgumentException("Each table has to play at least one hand");
+        }
+        this.names = names;
+        this.tableSize = tableSize;
+        this.handsPerMatch = handsPerMatch;
+        this.cardsPerPlayer = cardsPerPlayer;
+        this.seed = seed;
+    }
+
+    public Standings run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    public Standings run(ForkJoinPool pool) {
+        Standings standings = new Standings(names);
+        Shuffler shuffler = new Shuffler(seed);
+        int[] remaining = new int[names.length];
+        for (int entrant = 0; entrant < remaining.length; entrant++) {
+            remaining[entrant] = entrant;
+        }
+        while (remaining.length > 1) {
+            remaining = playRound(pool, remaining, shuffler, standings);
+        }
+        standings.recordChampion(remaining[0]);
+        return standings;
+    }
+
+    // Seats the entrants, plays every table and returns the winners in table order
+    private int[] playRound(ForkJoinPool pool, int[] entrants, Shuffler shuffler, Standings standings) {
+        shuffler.shuffle(entrants);
+        int tables = (entrants.length + tableSize - 1) / tableSize;
+        Shuffler[] tableShufflers = new Shuffler[tables];
+        for (int table = 0; table < tables; table++) {
+            tableShufflers[table] = shuffler.split();
+        }
+        int[] winners = new int[tables];
+        pool.invoke(new Tables(entrants, tableShufflers, winners, 0, tables, standings));
+        return winners;
+    }
+
+    private class Tables extends RecursiveAction {
+        private final int[] entrants;
+        private final Shuffler[] shufflers;
+        private final int[] winners;
+        private final int from;
+        private final int to;
+        private final Standings standings;
+
+        private Tables(int[] entrants, Shuffler[] shufflers, int[] winners, int from, int to, Standings standings) {
+            this.entrants = entrants;
+            this.shufflers = shufflers;
+            this.winners = winners;
+            this.from = from;
+            this.to = to;
+            this.standings = standings;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TABLES_PER_TASK) {
+                for (int table = from; table < to; table++) {
+                    winners[table] = playTable(table);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Tables(entrants, shufflers, winners, from, middle, standings),
+                    new Tables(entrants, shufflers, winners, middle, to, standings));
+        }
+
+        // Table t seats the entrants from t * n / tables up to (t + 1) * n / tables, so sizes differ by at most one
+        private int playTable(int table) {
+            int tables = shufflers.length;
+            int first = (int) ((long) table * entrants.length / tables);
+            int last = (int) ((long) (table + 1) * entrants.length / tables);
+            int[] seats = new int[last - first];
+            System.arraycopy(entrants, first, seats, 0, seats.length);
+            if (seats.length == 1) {
+                standings.recordAdvance(seats[0], true);
+                return seats[0];
+            }
+
+            Deck deck = new Deck(shufflers[table]);
+            ArrayList<Player> players = new ArrayList<>();
+            for (int entrant : seats) {
+                players.add(new Player(names[entrant], new Hand()));
+            }
+            Game game = new Game(deck, players, cardsPerPlayer);
+            int[] handValues = new int[seats.length];
+            int[] wins = new int[seats.length];
+            for (int hand = 0; hand < handsPerMatch; hand++) {
+                if (hand > 0) {
+                    game.reset();
+                }
+                Player winner = game.play();
+                record(players, seats, handValues);
+                if (winner != null) {
+                    wins[players.indexOf(winner)]++;
+                }
+            }
+
+            int winner = suddenDeath(game, players, seats, wins, handValues);
+            standings.recordAdvance(winner, false);
+            return winner;
+        }
+
+        // Leaves only the players with the most wins at the table and plays them until one wins a hand outright
+        private int suddenDeath(Game game, ArrayList<Player> players, int[] seats, int[] wins, int[] handValues) {
+            int most = 0;
+            for (int count : wins) {
+                most = Math.max(most, count);
+            }
+            ArrayList<Player> leaders = new ArrayList<>();
+            int[] leaderSeats = new int[seats.length];
+            for (int seat = 0; seat < seats.length; seat++) {
+                if (wins[seat] == most) {
+                    leaderSeats[leaders.size()] = seats[seat];
+                    leaders.add(players.get(seat));
+                }
+            }
+            if (leaders.size() == 1) {
+                return leaderSeats[0];
+            }
+
+            game.reset();
+            Game decider = new Game(game.getDeck(), leaders, cardsPerPlayer);
+            for (int hand = 0; ; hand++) {
+                if (hand > 0) {
+                    decider.reset();
+                }
+                Player winner = decider.play();
+                record(leaders, leaderSeats, handValues);
+                if (winner != null) {
+                    return leaderSeats[leaders.indexOf(winner)];
+                }
+            }
+        }
+
+        private void record(ArrayList<Player> players, int[] seats, int[] handValues) {
+            for (int seat = 0; seat < players.size(); seat++) {
+                handValues[seat] = players.get(seat).getHandValue();
+            }
+            standings.recordHand(seats, handValues, players.size());
+        }
+    }
+
+    private static String[] entrantNames(int entrants) {
+        String[] names = new String[entrants];
+        for (int entrant = 0; entrant < entrants; entrant++) {
+            names[entrant] = "Player " + (entrant + 1);
+        }
+        return names;
+    }
+
+    public static void main(String[] args) {
+        int entrants = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTRANTS;
+        int tableSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TABLE_SIZE;
+        int handsPerMatch = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_HANDS_PER_MATCH;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        System.out.println("seed " + seed);
+        long start = System.nanoTime();
+        Standings standings = new Tournament(entrants, tableSize, handsPerMatch, seed).run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(standings.report(10));
+        System.out.printf("%.2fs, %,.0f hands/s%n", seconds, standings.getTotalHands() / seconds);
+    }
+}
@@ -2,6 +2,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class CardTest {
     private Card card;
@@ -30,4 +31,10 @@ public class CardTest {
     public void cardHasName() {
         assertEquals("Eight of Clubs", card.prettyName());
     }
+
+    @Test
+    public void cardsAreShared() {
+        assertSame(Card.of(Suit.CLUBS, Rank.EIGHT), Card.of(card.getCode()));
+        assertEquals(card.prettyName(), Card.of(Suit.CLUBS, Rank.EIGHT).prettyName());
+    }
 }
@@ -1,6 +1,9 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -23,4 +26,56 @@ public class DeckTest {
         Card card = deck.getCard();
        assertNotNull(card);
     }
+
+    @Test
+    public void drawingTakesCardsFromDeck(){
+        deck.getCard();
+        deck.getCard();
+        assertEquals(50, deck.getNumberOfCards());
+    }
+
+    @Test
+    public void dealsEveryCardOnce(){
+        Set<Card> dealt = new HashSet<>();
+        for (int i = 0; i < 52; i++) {
+            dealt.add(deck.getCard());
+        }
+        assertEquals(52, dealt.size());
+        assertEquals(0, deck.getNumberOfCards());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotDrawFromEmptyDeck(){
+        for (int i = 0; i < 53; i++) {
+            deck.getCard();
+        }
+    }
+
+    @Test
+    public void resetPutsCardsBack(){
+        deck.getCard();
+        deck.reset();
+        assertEquals(52, deck.getNumberOfCards());
+    }
+
+    @Test
+    public void sameSeedDealsSameCards(){
+        Deck first = new Deck(new Shuffler(42));
+        Deck second = new Deck(new Shuffler(42));
+        for (int i = 0; i < 52; i++) {
+            assertEquals(first.getCard(), second.getCard());
+        }
+    }
+
+    @Test
+    public void dealsEveryCardOnceAfterReset(){
+        deck.getCard();
+        deck.getCard();
+        deck.reset();
+        Set<Card> dealt = new HashSet<>();
+        for (int i = 0; i < 52; i++) {
+            dealt.add(deck.getCard());
+        }
+        assertEquals(52, dealt.size());
+    }
 }
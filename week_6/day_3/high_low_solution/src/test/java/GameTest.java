@@ -55,4 +55,46 @@ public class GameTest {
         Player winner = game.checkWinner();
         assertEquals(null, winner);
     }
+
+    @Test
+    public void dealsToEveryPlayerAtTheTable(){
+        Player player3 = new Player("Player 3", new Hand());
+        players.add(player3);
+        game = new Game(deck, players, 5);
+        game.deal();
+        assertEquals(5, player3.getHand().getNumberOfCards());
+        assertEquals(Deck.SIZE - 15, deck.getNumberOfCards());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cantDealMoreCardsThanTheDeckHolds(){
+        new Game(deck, players, 27);
+    }
+
+    @Test
+    public void thirdPlayerWins(){
+        Player player3 = new Player("Player 3", new Hand());
+        players.add(player3);
+        player1.addCardToHand(new Card(Suit.CLUBS, Rank.THREE));
+        player2.addCardToHand(new Card(Suit.DIAMONDS, Rank.EIGHT));
+        player3.addCardToHand(new Card(Suit.HEARTS, Rank.KING));
+        assertEquals("Player 3", game.checkWinner().getName());
+    }
+
+    @Test
+    public void tieBetweenLeadersIsADraw(){
+        Player player3 = new Player("Player 3", new Hand());
+        players.add(player3);
+        player1.addCardToHand(new Card(Suit.CLUBS, Rank.KING));
+        player2.addCardToHand(new Card(Suit.DIAMONDS, Rank.THREE));
+        player3.addCardToHand(new Card(Suit.HEARTS, Rank.KING));
+        assertEquals(null, game.checkWinner());
+        assertEquals(2, game.getWinners().size());
+        assertEquals("Player 3", game.getWinners().get(1).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void everyPlayerNeedsACard(){
+        new Game(deck, players, 0);
+    }
 }
@@ -0,0 +1,72 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ShufflerTest {
+
+    private int[] items;
+
+    @Before
+    public void before(){
+        items = new int[20];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+    }
+
+    @Test
+    public void shuffleKeepsEveryItem(){
+        new Shuffler(42).shuffle(items);
+        int[] sorted = items.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+    }
+
+    @Test
+    public void sameSeedGivesSameShuffle(){
+        int[] other = items.clone();
+        new Shuffler(42).shuffle(items);
+        new Shuffler(42).shuffle(other);
+        assertArrayEquals(items, other);
+    }
+
+    @Test
+    public void partialShuffleOnlyDrawsDistinctItems(){
+        new Shuffler(7).partialShuffle(items, 5);
+        int[] sorted = items.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+    }
+
+    @Test
+    public void drawsAreRoughlyUniform(){
+        Shuffler shuffler = new Shuffler(1);
+        int[] counts = new int[items.length];
+        for (int draw = 0; draw < 200_000; draw++) {
+            counts[shuffler.nextIndex(items.length)]++;
+        }
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+
+    @Test
+    public void eachThreadHasItsOwnShuffler() throws InterruptedException {
+        Shuffler[] other = new Shuffler[1];
+        Thread thread = new Thread(() -> other[0] = Shuffler.current());
+        thread.start();
+        thread.join();
+        assertSame(Shuffler.current(), Shuffler.current());
+        assertNotSame(Shuffler.current(), other[0]);
+    }
+}
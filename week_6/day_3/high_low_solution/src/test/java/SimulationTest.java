@@ -0,0 +1,39 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SimulationTest {
+
+    SimulationResults results;
+
+    @Before
+    public void before(){
+        results = new Simulation(200_000, 42).run();
+    }
+
+    @Test
+    public void playsEveryRound(){
+        assertEquals(200_000, results.getRounds());
+    }
+
+    @Test
+    public void sameSeedGivesSameResultsOnAnyNumberOfThreads(){
+        assertEquals(results, new Simulation(200_000, 42).run(new ForkJoinPool(1)));
+        assertEquals(results, new Simulation(200_000, 42).run(new ForkJoinPool(3)));
+    }
+
+    @Test
+    public void playersAreEvenlyMatched(){
+        assertEquals(results.getWins(), results.getLosses(), 200_000 * 0.01);
+    }
+
+    @Test
+    public void twoAcesNeverLose(){
+        assertEquals(0, results.getLosses(28));
+        assertTrue(results.getWins(28) > 0);
+    }
+}
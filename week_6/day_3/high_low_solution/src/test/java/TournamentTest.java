@@ -0,0 +1,61 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TournamentTest {
+
+    Standings standings;
+
+    @Before
+    public void before(){
+        standings = new Tournament(1000, 4, 3, 42).run();
+    }
+
+    @Test
+    public void crownsOneChampion(){
+        int champion = standings.getChampion();
+        assertTrue(champion >= 0);
+        assertEquals(champion, (int) standings.getLeaders(1).get(0));
+        // 1000 -> 250 -> 63 -> 16 -> 4 -> 1
+        assertEquals(5, standings.getRoundsWon(champion));
+    }
+
+    @Test
+    public void everyTableSendsOnePlayerThrough(){
+        int advanced = 0;
+        for (int entrant = 0; entrant < standings.getEntrants(); entrant++) {
+            advanced += standings.getRoundsWon(entrant);
+        }
+        assertEquals(250 + 63 + 16 + 4 + 1, advanced);
+    }
+
+    @Test
+    public void sameSeedGivesSameChampionOnAnyNumberOfThreads(){
+        Standings oneThread = new Tournament(1000, 4, 3, 42).run(new ForkJoinPool(1));
+        Standings threeThreads = new Tournament(1000, 4, 3, 42).run(new ForkJoinPool(3));
+        assertEquals(standings.getChampion(), oneThread.getChampion());
+        assertEquals(standings.getChampion(), threeThreads.getChampion());
+        assertEquals(standings.getTotalHands(), threeThreads.getTotalHands());
+        assertEquals(standings.report(10), threeThreads.report(10));
+    }
+
+    @Test
+    public void playerWithABye(){
+        Standings standings = new Tournament(3, 2, 1, 7).run();
+        assertEquals(3, standings.getTables() + 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tablesNeedTwoPlayers(){
+        new Tournament(10, 1, 3, 42);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playersNeedCards(){
+        new Tournament(new String[]{"Ann", "Bob"}, 2, 3, 0, 42);
+    }
+}
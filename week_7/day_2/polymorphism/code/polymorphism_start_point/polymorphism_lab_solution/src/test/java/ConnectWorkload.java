@@ -0,0 +1,45 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+// The measured loop for benchmarks.ConnectDispatchBenchmark. The devices live in the default package,
+// which JMH can't generate benchmarks for, so the benchmark loads this class reflectively and only
+// sees it as an IntSupplier. The IConnect.connect() call in getAsInt is the call site under test.
+public class ConnectWorkload implements IntSupplier {
+
+    private final IConnect[] devices;
+
+    public ConnectWorkload(String shape, int deviceCount) {
+        Random random = new Random(42);
+        int kinds = shape.equals("MONOMORPHIC") ? 1 : shape.equals("BIMORPHIC") ? 2 : 3;
+        List<IConnect> mixed = new ArrayList<>();
+        for (int i = 0; i < deviceCount; i++) {
+            mixed.add(device(i % kinds, i));
+        }
+        // Shuffled, or the devices would repeat in a fixed cycle the CPU could predict
+        Collections.shuffle(mixed, random);
+        devices = mixed.toArray(new IConnect[0]);
+    }
+
+    // Adds up the message lengths so the JIT can't drop the calls
+    public int getAsInt() {
+        int length = 0;
+        for (IConnect device : devices) {
+            length += device.connect("CodeClan").length();
+        }
+        return length;
+    }
+
+    private static IConnect device(int kind, int number) {
+        switch (kind) {
+            case 0:
+                return new Desktop("Desktop " + number, "Apple", "iMac");
+            case 1:
+                return new Printer();
+            default:
+                return new InternetRadio();
+        }
+    }
+}
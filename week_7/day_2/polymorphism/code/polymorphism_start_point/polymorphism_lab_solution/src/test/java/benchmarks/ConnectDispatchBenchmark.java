@@ -0,0 +1,39 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+// Times the IConnect.connect() loop in ConnectWorkload over Desktop, then Desktop and Printer, then
+// all three devices. Each connect() concatenates a String that the loop only takes the length of, so
+// when the call is inlined escape analysis can skip building it; once it isn't, every call allocates.
+// The default -prof gc in ./gradlew jmh shows that as gc.alloc.rate.norm next to the timings.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectDispatchBenchmark {
+
+    @Param({"MONOMORPHIC", "BIMORPHIC", "MEGAMORPHIC"})
+    String shape;
+
+    @Param({"1000"})
+    int deviceCount;
+
+    IntSupplier workload;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        workload = (IntSupplier) Class.forName("ConnectWorkload")
+                .getConstructor(String.class, int.class)
+                .newInstance(shape, deviceCount);
+    }
+
+    @Benchmark
+    public int connect() {
+        return workload.getAsInt();
+    }
+}
@@ -0,0 +1,78 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+// The hot loop behind benchmarks.ChargableDispatchBenchmark. JMH won't run benchmarks from the default
+// package and the rooms can't be seen from any other, so the benchmark creates this by name and calls it
+// through DoubleSupplier; the Chargable.getTotal() call site being measured is the one in getAsDouble.
+// Only BedRoom and ConferenceRoom are Chargable today, so MEGAMORPHIC adds two stand-in room classes
+// to show what a third and fourth kind of chargeable room would cost.
+public class ChargableWorkload implements DoubleSupplier {
+
+    private final Chargable[] rooms;
+
+    public ChargableWorkload(String shape, int roomCount) {
+        Random random = new Random(42);
+        int kinds = shape.equals("MONOMORPHIC") ? 1 : shape.equals("BIMORPHIC") ? 2 : 4;
+        List<Chargable> mixed = new ArrayList<>();
+        for (int i = 0; i < roomCount; i++) {
+            mixed.add(room(i % kinds, i, random));
+        }
+        // Interleaved at random, so the branch predictor can't learn the order of the classes
+        Collections.shuffle(mixed, random);
+        rooms = mixed.toArray(new Chargable[0]);
+    }
+
+    public double getAsDouble() {
+        double total = 0;
+        for (Chargable room : rooms) {
+            total += room.getTotal();
+        }
+        return total;
+    }
+
+    private static Chargable room(int kind, int number, Random random) {
+        switch (kind) {
+            case 0:
+                BedRoom bedRoom = new BedRoom(RoomType.DOUBLE, 50 + random.nextInt(50), number);
+                bedRoom.checkIn(new ArrayList<Guest>(), 1 + random.nextInt(7));
+                return bedRoom;
+            case 1:
+                return new ConferenceRoom(20, "Room " + number, 100 + random.nextInt(100));
+            case 2:
+                return new HourlyRoom(10 + random.nextInt(10), 1 + random.nextInt(8));
+            default:
+                return new FlatFeeRoom(250);
+        }
+    }
+
+    private static class HourlyRoom extends Room implements Chargable {
+        private final double hourlyRate;
+        private final int hours;
+
+        private HourlyRoom(double hourlyRate, int hours) {
+            super(10);
+            this.hourlyRate = hourlyRate;
+            this.hours = hours;
+        }
+
+        public double getTotal() {
+            return hourlyRate * hours;
+        }
+    }
+
+    private static class FlatFeeRoom extends Room implements Chargable {
+        private final double fee;
+
+        private FlatFeeRoom(double fee) {
+            super(50);
+            this.fee = fee;
+        }
+
+        public double getTotal() {
+            return fee;
+        }
+    }
+}
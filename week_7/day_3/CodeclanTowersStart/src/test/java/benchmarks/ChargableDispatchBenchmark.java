@@ -0,0 +1,39 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+// Times the Chargable.getTotal() loop in ChargableWorkload over one, two and four kinds of room.
+// getTotal() is a little arithmetic and allocates nothing, so the differences between shapes are
+// close to the bare cost of inlined calls versus an interface dispatch. @Fork(1) gives each shape a
+// fresh JVM, so one shape's rooms never show up in another's call-site profile.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChargableDispatchBenchmark {
+
+    @Param({"MONOMORPHIC", "BIMORPHIC", "MEGAMORPHIC"})
+    String shape;
+
+    @Param({"1000"})
+    int roomCount;
+
+    DoubleSupplier workload;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        workload = (DoubleSupplier) Class.forName("ChargableWorkload")
+                .getConstructor(String.class, int.class)
+                .newInstance(shape, roomCount);
+    }
+
+    @Benchmark
+    public double getTotal() {
+        return workload.getAsDouble();
+    }
+}
@@ -3,14 +3,26 @@ import models.Guitar;
 import models.MusicBook;
 import models.MusicStand;
 import models.Piano;
+import models.Shop;
+import models.StockItem;
+import models.StockTotals;
+
+import java.util.List;
 
 public class Runner {
 
     public static void main(String[] args) {
+        Shop shop = new Shop("Ray's Music Exchange");
+        DBHelper.saveOrUpdate(shop);
+
         Guitar guitar = new Guitar("Fender", "White", 6, 500, 700);
         Piano piano = new Piano("Yamahah", "HotPink", 1000, 1500);
         MusicStand stand = new MusicStand("Blue", 4, 6);
         MusicBook book = new MusicBook("Learn music good", 5, 10);
+        shop.addToStock(guitar);
+        shop.addToStock(piano);
+        shop.addToStock(stand);
+        shop.addToStock(book);
         DBHelper.saveOrUpdate(guitar);
         DBHelper.saveOrUpdate(piano);
         DBHelper.saveOrUpdate(stand);
@@ -20,5 +32,10 @@ public class Runner {
         Piano foundPiano = DBHelper.find(Piano.class, piano.getId());
         MusicStand foundStand = DBHelper.find(MusicStand.class, stand.getId());
         MusicBook foundBook = DBHelper.find(MusicBook.class, book.getId());
+
+        Shop foundShop = DBHelper.find(Shop.class, shop.getId());
+        StockTotals totals = DBHelper.getStockTotals(foundShop);
+        List<StockItem> firstPage = DBHelper.getStockPage(foundShop, 0, 2);
+        List<StockItem> secondPage = DBHelper.getStockPage(foundShop, firstPage.get(firstPage.size() - 1).getId(), 2);
     }
 }
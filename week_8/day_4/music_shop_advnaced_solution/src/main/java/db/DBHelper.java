@@ -1,14 +1,31 @@
 package db;
 
+import models.Instrument;
+import models.InstrumentType;
+import models.Shop;
+import models.StockItem;
+import models.StockTotals;
 import org.hibernate.Criteria;
 import org.hibernate.HibernateException;
 import org.hibernate.*;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
+import java.sql.PreparedStatement;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DBHelper {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final int QUANTITY_BATCH_SIZE = 1000;
+
     private static Transaction transaction;
     private static Session session;
 
@@ -57,6 +74,21 @@ public class DBHelper {
         return result;
     }
 
+    public static <T> List<T> getList(Query query){
+        List<T> results = null;
+        try {
+            transaction = session.beginTransaction();
+            results = query.list();
+            transaction.commit();
+        } catch (HibernateException e){
+            transaction.rollback();
+            e.printStackTrace();
+        } finally {
+            session.close();
+        }
+        return results;
+    }
+
     public static void delete(Object object){
         session = HibernateUtil.getSessionFactory().openSession();
         try {
@@ -88,4 +120,172 @@ public class DBHelper {
         return results;
     }
 
+    // The next pageSize items of a shop's stock after the item with id afterId; start from 0.
+    // Pages are keyed on id rather than offset, so each one is a short range scan of stock_item_shop_idx
+    // however deep into the stock it is.
+    public static List<StockItem> getStockPage(Shop shop, int afterId, int pageSize){
+        session = HibernateUtil.getSessionFactory().openSession();
+        Criteria criteria = session.createCriteria(StockItem.class);
+        criteria.add(Restrictions.eq("shop.id", shop.getId()));
+        criteria.add(Restrictions.gt("id", afterId));
+        criteria.addOrder(Order.asc("id"));
+        criteria.setMaxResults(pageSize);
+        return getList(criteria);
+    }
+
+    public static void streamStock(Shop shop, Consumer<StockItem> consumer){
+        try (Stream<StockItem> stock = streamStock(shop)) {
+            stock.forEach(consumer);
+        } catch (HibernateException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // A stateless session keeps no persistence context, so items can be dropped as soon as they are consumed.
+    // The stream must be closed to release the session, e.g. with try-with-resources.
+    public static Stream<StockItem> streamStock(Shop shop){
+        StatelessSession statelessSession = HibernateUtil.getSessionFactory().openStatelessSession();
+        try {
+            Transaction streamTransaction = statelessSession.beginTransaction();
+            ScrollableResults results = statelessSession.createCriteria(StockItem.class)
+                    .add(Restrictions.eq("shop.id", shop.getId()))
+                    .setFetchSize(STREAM_FETCH_SIZE)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+
+            Spliterator<StockItem> spliterator = new Spliterators.AbstractSpliterator<StockItem>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super StockItem> action) {
+                    if (!results.next()) {
+                        return false;
+                    }
+                    action.accept((StockItem) results.get(0));
+                    return true;
+                }
+            };
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    results.close();
+                    streamTransaction.commit();
+                } finally {
+                    statelessSession.close();
+                }
+            });
+        } catch (HibernateException e) {
+            statelessSession.close();
+            throw e;
+        }
+    }
+
+    // Same answers as Shop.getIndex(), from stock_item_shop_price_idx and stock_item_shop_markup_idx
+    public static List<StockItem> getStockPricedBetween(Shop shop, int minPrice, int maxPrice){
+        session = HibernateUtil.getSessionFactory().openSession();
+        Criteria criteria = session.createCriteria(StockItem.class);
+        criteria.add(Restrictions.eq("shop.id", shop.getId()));
+        criteria.add(Restrictions.between("sellPrice", minPrice, maxPrice));
+        criteria.addOrder(Order.asc("sellPrice"));
+        return getList(criteria);
+    }
+
+    public static List<Instrument> getStockPricedBetween(Shop shop, InstrumentType type, int minPrice, int maxPrice){
+        session = HibernateUtil.getSessionFactory().openSession();
+        Criteria criteria = session.createCriteria(Instrument.class);
+        criteria.add(Restrictions.eq("shop.id", shop.getId()));
+        criteria.add(Restrictions.eq("type", type));
+        criteria.add(Restrictions.between("sellPrice", minPrice, maxPrice));
+        criteria.addOrder(Order.asc("sellPrice"));
+        return getList(criteria);
+    }
+
+    // Criteria can't order by an expression, hence HQL
+    public static List<StockItem> getTopByMarkup(Shop shop, int k){
+        session = HibernateUtil.getSessionFactory().openSession();
+        Query query = session.createQuery("from StockItem where shop.id = :shopId order by sellPrice - buyPrice desc");
+        query.setInteger("shopId", shop.getId());
+        query.setMaxResults(k);
+        return getList(query);
+    }
+
+    public static List<Instrument> getTopByMarkup(Shop shop, InstrumentType type, int k){
+        session = HibernateUtil.getSessionFactory().openSession();
+        Query query = session.createQuery("from Instrument where shop.id = :shopId and type = :type order by sellPrice - buyPrice desc");
+        query.setInteger("shopId", shop.getId());
+        query.setParameter("type", type);
+        query.setMaxResults(k);
+        return getList(query);
+    }
+
+    // Counted and summed by the database, without loading any items
+    public static StockTotals getStockTotals(Shop shop){
+        session = HibernateUtil.getSessionFactory().openSession();
+        Criteria criteria = session.createCriteria(StockItem.class);
+        criteria.add(Restrictions.eq("shop.id", shop.getId()));
+        return getTotals(criteria);
+    }
+
+    // The database counterparts of Shop.stockCount and Shop.totalPotentialProfit, for a persisted shop
+    public static int getStockCount(Shop shop){
+        return getStockTotals(shop).getItemCount();
+    }
+
+    public static long getPotentialProfit(Shop shop){
+        return getStockTotals(shop).getTotalMarkup();
+    }
+
+    public static StockTotals getStockTotals(Shop shop, InstrumentType type){
+        session = HibernateUtil.getSessionFactory().openSession();
+        Criteria criteria = session.createCriteria(Instrument.class);
+        criteria.add(Restrictions.eq("shop.id", shop.getId()));
+        criteria.add(Restrictions.eq("type", type));
+        return getTotals(criteria);
+    }
+
+    private static StockTotals getTotals(Criteria criteria){
+        criteria.setProjection(Projections.projectionList()
+                .add(Projections.rowCount())
+                .add(Projections.sum("buyPrice"))
+                .add(Projections.sum("sellPrice")));
+        Object[] row = getUnique(criteria);
+        if (row == null) {
+            return new StockTotals();
+        }
+        // Sums are null when there are no rows
+        int itemCount = ((Number) row[0]).intValue();
+        long totalBuyPrice = row[1] == null ? 0 : ((Number) row[1]).longValue();
+        long totalSellPrice = row[2] == null ? 0 : ((Number) row[2]).longValue();
+        return new StockTotals(itemCount, totalBuyPrice, totalSellPrice);
+    }
+
+    // One batched UPDATE for many stock items' quantities on hand, keyed by stock item id.
+    // Called from Inventory's write-behind thread, so it keeps its session to itself, and throws
+    // on failure so the quantities can be written again later.
+    public static void saveQuantities(Map<Integer, Integer> quantities){
+        Session session = HibernateUtil.getSessionFactory().openSession();
+        Transaction transaction = null;
+        try {
+            transaction = session.beginTransaction();
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("UPDATE stockitem SET quantity = ? WHERE id = ?")) {
+                    int batched = 0;
+                    for (Map.Entry<Integer, Integer> quantity : quantities.entrySet()) {
+                        statement.setInt(1, quantity.getValue());
+                        statement.setInt(2, quantity.getKey());
+                        statement.addBatch();
+                        if (++batched % QUANTITY_BATCH_SIZE == 0) {
+                            statement.executeBatch();
+                        }
+                    }
+                    statement.executeBatch();
+                }
+            });
+            transaction.commit();
+        } catch (HibernateException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            session.close();
+        }
+    }
+
 }
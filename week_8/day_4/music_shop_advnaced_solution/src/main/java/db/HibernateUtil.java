@@ -9,8 +9,8 @@ public class HibernateUtil {
 
     private static SessionFactory buildSessionFactory() {
         try {
-            // Create the SessionFactory from hibernate.cfg.xml
-            return new Configuration().configure().buildSessionFactory();
+            // Create the SessionFactory from hibernate.cfg.xml, with the StockItem mapping picked by -Dmusicshop.inheritance
+            return InheritanceMapping.selected().configure().buildSessionFactory();
         }
         catch (Throwable ex) {
             // Make sure you log the exception, as it might be swallowed
@@ -0,0 +1,35 @@
+package db;
+
+import org.hibernate.cfg.Configuration;
+
+// How the StockItem hierarchy is laid out in the database.
+// JOINED is what the annotations on StockItem and Instrument declare: a table per class, joined on id.
+// SINGLE_TABLE layers single_table_inheritance.orm.xml on top, putting every subclass in the stockitem
+// table with an item_kind discriminator, so polymorphic reads need no joins and inserts write one row.
+// Pick one with -Dmusicshop.inheritance=joined|single_table; db/joined_to_single_table.sql and
+// db/single_table_to_joined.sql move an existing database between them.
+public enum InheritanceMapping {
+    JOINED(null),
+    SINGLE_TABLE("single_table_inheritance.orm.xml");
+
+    public static final String PROPERTY = "musicshop.inheritance";
+
+    private final String overrides;
+
+    InheritanceMapping(String overrides) {
+        this.overrides = overrides;
+    }
+
+    public static InheritanceMapping selected() {
+        return valueOf(System.getProperty(PROPERTY, JOINED.name()).toUpperCase());
+    }
+
+    // hibernate.cfg.xml with this mapping applied
+    public Configuration configure() {
+        Configuration configuration = new Configuration().configure();
+        if (overrides != null) {
+            configuration.addResource(overrides);
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,215 @@
+package db;
+
+import models.StockItem;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Available and reserved quantities per stock item, for many checkouts selling at once.
+// A checkout reserves units, then commits them (sold) or releases them (back on sale). Both counts of
+// an item share one AtomicLong, so every change is a single compare-and-set: no locks, and it can never
+// reserve more than is available. Items are independent, so throughput grows with cores.
+// Quantities on hand (available + reserved) are written back behind the callers, in batches on a
+// background thread: an item changed many times between flushes is written once, with its latest value.
+public class Inventory implements AutoCloseable {
+
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 100;
+
+    private final Map<Integer, Counts> counts = new ConcurrentHashMap<Integer, Counts>();
+    private final Queue<Counts> dirty = new ConcurrentLinkedQueue<Counts>();
+    private final Consumer<Map<Integer, Integer>> writer;
+    private final ScheduledExecutorService flusher;
+
+    public Inventory() {
+        this(DBHelper::saveQuantities, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    // writer is handed stock item ids and their new quantities on hand
+    public Inventory(Consumer<Map<Integer, Integer>> writer, long flushIntervalMillis) {
+        this.writer = writer;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Takes each item's quantity on hand as its available units. An item already in the inventory is
+    // updated in place, but only while it has no reservations or unflushed changes, which the loaded
+    // quantity would wipe out; otherwise this throws and leaves that item, and the items after it, as they were.
+    public void load(Collection<? extends StockItem> items) {
+        for (StockItem item : items) {
+            Counts itemCounts = counts.putIfAbsent(item.getId(), new Counts(item.getId(), item.getQuantity()));
+            if (itemCounts != null) {
+                reload(itemCounts, item.getQuantity());
+            }
+        }
+    }
+
+    // Null when fewer than quantity units are available
+    public Reservation reserve(int stockItemId, int quantity) {
+        checkQuantity(quantity);
+        Counts itemCounts = countsFor(stockItemId);
+        while (true) {
+            long current = itemCounts.state.get();
+            int available = available(current);
+            if (available < quantity) {
+                return null;
+            }
+            if (itemCounts.state.compareAndSet(current, pack(available - quantity, reserved(current) + quantity))) {
+                return new Reservation(stockItemId, quantity);
+            }
+        }
+    }
+
+    // The reserved units are sold and leave the stock; false if the reservation was already settled
+    public boolean commit(Reservation reservation) {
+        if (!reservation.settle()) {
+            return false;
+        }
+        Counts itemCounts = countsFor(reservation.getStockItemId());
+        add(itemCounts, 0, -reservation.getQuantity());
+        markDirty(itemCounts);
+        return true;
+    }
+
+    // The reserved units go back on sale; false if the reservation was already settled
+    public boolean release(Reservation reservation) {
+        if (!reservation.settle()) {
+            return false;
+        }
+        add(countsFor(reservation.getStockItemId()), reservation.getQuantity(), -reservation.getQuantity());
+        return true;
+    }
+
+    public void restock(int stockItemId, int quantity) {
+        checkQuantity(quantity);
+        Counts itemCounts = counts.computeIfAbsent(stockItemId, id -> new Counts(id, 0));
+        add(itemCounts, quantity, 0);
+        markDirty(itemCounts);
+    }
+
+    public int getAvailable(int stockItemId) {
+        Counts itemCounts = counts.get(stockItemId);
+        return itemCounts == null ? 0 : available(itemCounts.state.get());
+    }
+
+    public int getReserved(int stockItemId) {
+        Counts itemCounts = counts.get(stockItemId);
+        return itemCounts == null ? 0 : reserved(itemCounts.state.get());
+    }
+
+    // Writes every quantity changed since the last flush. Runs on the background thread, and can be
+    // called directly when the database must be up to date now.
+    public synchronized void flush() {
+        Map<Integer, Integer> quantities = new HashMap<Integer, Integer>();
+        Counts itemCounts;
+        while ((itemCounts = dirty.poll()) != null) {
+            // Cleared before reading, so a change made after the read queues the item again
+            itemCounts.dirty.set(false);
+            long state = itemCounts.state.get();
+            quantities.put(itemCounts.stockItemId, available(state) + reserved(state));
+        }
+        if (quantities.isEmpty()) {
+            return;
+        }
+        try {
+            writer.accept(quantities);
+        } catch (RuntimeException e) {
+            // Try again on the next flush
+            for (Integer stockItemId : quantities.keySet()) {
+                markDirty(counts.get(stockItemId));
+            }
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private Counts countsFor(int stockItemId) {
+        Counts itemCounts = counts.get(stockItemId);
+        if (itemCounts == null) {
+            throw new IllegalArgumentException("Stock item " + stockItemId + " isn't in the inventory");
+        }
+        return itemCounts;
+    }
+
+    private static void reload(Counts itemCounts, int quantity) {
+        while (true) {
+            long current = itemCounts.state.get();
+            if (reserved(current) != 0 || itemCounts.dirty.get()) {
+                throw new IllegalStateException("Stock item " + itemCounts.stockItemId
+                        + " has reservations or unsaved changes and can't be reloaded");
+            }
+            if (itemCounts.state.compareAndSet(current, pack(quantity, 0))) {
+                return;
+            }
+        }
+    }
+
+    private void markDirty(Counts itemCounts) {
+        if (itemCounts.dirty.compareAndSet(false, true)) {
+            dirty.add(itemCounts);
+        }
+    }
+
+    private static void add(Counts itemCounts, int availableChange, int reservedChange) {
+        while (true) {
+            long current = itemCounts.state.get();
+            long updated = pack(available(current) + availableChange, reserved(current) + reservedChange);
+            if (itemCounts.state.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static void checkQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive, not " + quantity);
+        }
+    }
+
+    // Available in the high 32 bits, reserved in the low 32
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int available(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int reserved(long state) {
+        return (int) state;
+    }
+
+    private static class Counts {
+        private final int stockItemId;
+        private final AtomicLong state;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        private Counts(int stockItemId, int quantity) {
+            this.stockItemId = stockItemId;
+            this.state = new AtomicLong(pack(quantity, 0));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package db;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Units of one stock item held for a checkout until it is committed or released, whichever comes first
+public class Reservation {
+
+    private final int stockItemId;
+    private final int quantity;
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    Reservation(int stockItemId, int quantity) {
+        this.stockItemId = stockItemId;
+        this.quantity = quantity;
+    }
+
+    public int getStockItemId() {
+        return stockItemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public boolean isSettled() {
+        return settled.get();
+    }
+
+    // True for the one caller that gets to commit or release it
+    boolean settle() {
+        return settled.compareAndSet(false, true);
+    }
+}
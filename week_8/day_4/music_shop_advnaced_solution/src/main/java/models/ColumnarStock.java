@@ -0,0 +1,243 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Stock held column by column instead of as a list of StockItem objects, for very large inventories.
+// Each item is a row: parallel int[] buy and sell price columns, a byte column for what kind of item
+// it is, a byte column for its InstrumentType, and colour and model columns holding codes into small
+// dictionaries of the distinct strings. Aggregates are then plain loops over primitive arrays, with
+// no pointer chasing or virtual calls, which the JIT can unroll and vectorise.
+// Removing a row moves the last row into its place, so row numbers are not stable across removals.
+public class ColumnarStock {
+
+    public enum Kind {
+        GUITAR,
+        PIANO,
+        MUSIC_STAND,
+        MUSIC_BOOK
+    }
+
+    private static final byte NO_TYPE = -1;
+    private static final int NO_CODE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private int[] buyPrices = new int[INITIAL_CAPACITY];
+    private int[] sellPrices = new int[INITIAL_CAPACITY];
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] colourCodes = new int[INITIAL_CAPACITY];
+    private int[] modelCodes = new int[INITIAL_CAPACITY];
+
+    private final Dictionary colours = new Dictionary();
+    private final Dictionary models = new Dictionary();
+
+    // The model column holds a guitar's model, a piano's manufacturer or a book's title
+    public int add(StockItem item) {
+        if (item instanceof Guitar) {
+            Guitar guitar = (Guitar) item;
+            return add(Kind.GUITAR, guitar.getBuyPrice(), guitar.getSellPrice(), guitar.getType(), guitar.getColour(), guitar.getModel());
+        }
+        if (item instanceof Piano) {
+            Piano piano = (Piano) item;
+            return add(Kind.PIANO, piano.getBuyPrice(), piano.getSellPrice(), piano.getType(), piano.getColour(), piano.getManufacturer());
+        }
+        if (item instanceof MusicStand) {
+            MusicStand stand = (MusicStand) item;
+            return add(Kind.MUSIC_STAND, stand.getBuyPrice(), stand.getSellPrice(), null, stand.getColour(), null);
+        }
+        if (item instanceof MusicBook) {
+            MusicBook book = (MusicBook) item;
+            return add(Kind.MUSIC_BOOK, book.getBuyPrice(), book.getSellPrice(), null, null, book.getTitle());
+        }
+        throw new IllegalArgumentException("Can't store " + item.getClass().getSimpleName() + " in columns");
+    }
+
+    public int add(Kind kind, int buyPrice, int sellPrice, InstrumentType type, String colour, String model) {
+        if (size == buyPrices.length) {
+            grow();
+        }
+        int row = size++;
+        buyPrices[row] = buyPrice;
+        sellPrices[row] = sellPrice;
+        kinds[row] = (byte) kind.ordinal();
+        types[row] = type == null ? NO_TYPE : (byte) type.ordinal();
+        colourCodes[row] = colours.encode(colour);
+        modelCodes[row] = models.encode(model);
+        return row;
+    }
+
+    public void remove(int row) {
+        checkRow(row);
+        int last = --size;
+        buyPrices[row] = buyPrices[last];
+        sellPrices[row] = sellPrices[last];
+        kinds[row] = kinds[last];
+        types[row] = types[last];
+        colourCodes[row] = colourCodes[last];
+        modelCodes[row] = modelCodes[last];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBuyPrice(int row) {
+        checkRow(row);
+        return buyPrices[row];
+    }
+
+    public int getSellPrice(int row) {
+        checkRow(row);
+        return sellPrices[row];
+    }
+
+    public void setBuyPrice(int row, int buyPrice) {
+        checkRow(row);
+        buyPrices[row] = buyPrice;
+    }
+
+    public void setSellPrice(int row, int sellPrice) {
+        checkRow(row);
+        sellPrices[row] = sellPrice;
+    }
+
+    public Kind getKind(int row) {
+        checkRow(row);
+        return Kind.values()[kinds[row]];
+    }
+
+    public InstrumentType getType(int row) {
+        checkRow(row);
+        return types[row] == NO_TYPE ? null : InstrumentType.values()[types[row]];
+    }
+
+    public String getColour(int row) {
+        checkRow(row);
+        return colours.decode(colourCodes[row]);
+    }
+
+    public String getModel(int row) {
+        checkRow(row);
+        return models.decode(modelCodes[row]);
+    }
+
+    public long totalBuyPrice() {
+        return sum(buyPrices);
+    }
+
+    public long totalSellPrice() {
+        return sum(sellPrices);
+    }
+
+    public long totalMarkup() {
+        return totalSellPrice() - totalBuyPrice();
+    }
+
+    public long totalMarkup(Kind kind) {
+        byte tag = (byte) kind.ordinal();
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            // Branch-free so the loop stays a straight line of arithmetic
+            int match = (kinds[row] == tag) ? 1 : 0;
+            total += match * (sellPrices[row] - buyPrices[row]);
+        }
+        return total;
+    }
+
+    // Markup per InstrumentType, indexed by ordinal; rows that aren't instruments are left out
+    public long[] totalMarkupByType() {
+        long[] totals = new long[InstrumentType.values().length];
+        for (int row = 0; row < size; row++) {
+            byte type = types[row];
+            if (type != NO_TYPE) {
+                totals[type] += sellPrices[row] - buyPrices[row];
+            }
+        }
+        return totals;
+    }
+
+    public int countByColour(String colour) {
+        int code = colours.find(colour);
+        if (code == NO_CODE) {
+            return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (colourCodes[row] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int countByModel(String model) {
+        int code = models.find(model);
+        if (code == NO_CODE) {
+            return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (modelCodes[row] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long sum(int[] column) {
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            total += column[row];
+        }
+        return total;
+    }
+
+    private void grow() {
+        int capacity = buyPrices.length * 2;
+        buyPrices = Arrays.copyOf(buyPrices, capacity);
+        sellPrices = Arrays.copyOf(sellPrices, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        types = Arrays.copyOf(types, capacity);
+        colourCodes = Arrays.copyOf(colourCodes, capacity);
+        modelCodes = Arrays.copyOf(modelCodes, capacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+    }
+
+    // Gives each distinct string a small int code, so a column stores 4 bytes per row instead of a reference
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<String, Integer>();
+        private final List<String> values = new ArrayList<String>();
+
+        private int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        private int find(String value) {
+            Integer code = value == null ? null : codes.get(value);
+            return code == null ? NO_CODE : code;
+        }
+
+        private String decode(int code) {
+            return code == NO_CODE ? null : values.get(code);
+        }
+    }
+}
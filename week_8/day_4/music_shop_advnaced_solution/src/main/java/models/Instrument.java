@@ -37,6 +37,8 @@ public abstract class Instrument extends StockItem implements IPlay {
     }
 
     public void setType(InstrumentType type) {
+        uncountInShop();
         this.type = type;
+        countInShop();
     }
 }
@@ -3,23 +3,45 @@ package models;
 import models.StockItem;
 
 import javax.persistence.*;
+import java.util.EnumMap;
 import java.util.List;
-
+import java.util.Map;
+
+// A shop's stock can run to millions of items, so it isn't mapped as a collection here. Each StockItem
+// points at its one shop instead, and DBHelper pages or streams a persisted shop's stock and totals it
+// with database aggregates. The stock list and totals below only hold what was added in memory, so
+// they are empty for a shop just loaded from the database; DBHelper.getStockCount, getPotentialProfit
+// and getStockTotals answer the same questions for what is persisted.
+@Entity
+@Table(name="shops")
 public class Shop {
 
     private int id;
     private String name;
-    private List<StockItem> stock;
+    private StockSet stock;
+    private StockTotals totals;
+    private Map<InstrumentType, StockTotals> totalsByType;
+    private StockIndex index;
 
     public Shop(String name) {
+        this();
         this.name = name;
     }
 
     public Shop() {
+        this.stock = new StockSet();
+        this.totals = new StockTotals();
+        this.index = new StockIndex();
+        this.totalsByType = new EnumMap<InstrumentType, StockTotals>(InstrumentType.class);
+        for (InstrumentType type : InstrumentType.values()) {
+            this.totalsByType.put(type, new StockTotals());
+        }
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shop_seq")
+    @SequenceGenerator(name = "shop_seq", sequenceName = "shop_seq", allocationSize = 50)
+    @Column(name="id")
     public int getId() {
         return id;
     }
@@ -37,31 +59,96 @@ public class Shop {
         this.name = name;
     }
 
+    // A copy, so that every change goes through addToStock and removeFromStock and is counted
+    @Transient
     public List<StockItem> getStock() {
-        return stock;
+        return stock.toList();
     }
 
     public void setStock(List<StockItem> stock) {
-        this.stock = stock;
+        for (StockItem item : this.stock) {
+            item.setShop(null);
+        }
+        this.stock = new StockSet();
+        this.totals.clear();
+        this.index.clear();
+        for (StockTotals typeTotals : totalsByType.values()) {
+            typeTotals.clear();
+        }
+        for (StockItem item : stock) {
+            addToStock(item);
+        }
     }
 
+    // O(1) from the running totals, over items added in memory; DBHelper.getStockCount counts persisted stock
     public int stockCount() {
-        return this.stock.size();
+        return this.totals.getItemCount();
     }
 
+    // An item belongs to one shop at a time, so one stocked elsewhere has to be removed from that shop
+    // first. Adding an item that is already in stock does nothing.
     public void addToStock(StockItem item) {
-        this.stock.add(item);
+        Shop current = item.getShop();
+        if (current != null && !isSameShop(current)) {
+            throw new IllegalArgumentException("Item " + item.getId() + " is already stocked by another shop");
+        }
+        if (!this.stock.add(item)) {
+            return;
+        }
+        item.setShop(this);
+        count(item);
     }
 
     public void removeFromStock(StockItem item) {
-        this.stock.remove(item);
+        if (this.stock.remove(item)) {
+            item.setShop(null);
+            uncount(item);
+        }
+    }
+
+    // This instance, or another copy of the same persisted shop, such as an item's lazily loaded proxy
+    private boolean isSameShop(Shop shop) {
+        return shop == this || (id != 0 && shop.getId() == id);
+    }
+
+    public boolean hasInStock(StockItem item) {
+        return this.stock.contains(item);
     }
 
+    // O(1) from the running totals, over items added in memory; DBHelper.getPotentialProfit sums persisted stock
     public int totalPotentialProfit() {
-        int total = 0;
-        for (StockItem item : stock) {
-            total += item.calculateMarkup();
+        return (int) this.totals.getTotalMarkup();
+    }
+
+    @Transient
+    public StockTotals getTotals() {
+        return totals;
+    }
+
+    public StockTotals getTotals(InstrumentType type) {
+        return totalsByType.get(type);
+    }
+
+    // Price and markup queries over the stock in memory; DBHelper has the same queries for a persisted shop
+    @Transient
+    public StockIndex getIndex() {
+        return index;
+    }
+
+    // Called by StockItem around any change to its prices or type
+    void count(StockItem item) {
+        totals.add(item);
+        index.add(item);
+        if (item instanceof Instrument && ((Instrument) item).getType() != null) {
+            totalsByType.get(((Instrument) item).getType()).add(item);
+        }
+    }
+
+    void uncount(StockItem item) {
+        totals.remove(item);
+        index.remove(item);
+        if (item instanceof Instrument && ((Instrument) item).getType() != null) {
+            totalsByType.get(((Instrument) item).getType()).remove(item);
         }
-        return total;
     }
 }
@@ -0,0 +1,130 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+// Stock sorted by sell price and by markup, overall and per InstrumentType, kept up to date one item at a
+// time like StockTotals. Range queries and top-k are O(log n + k) walks of a tree instead of a scan.
+// Each item's sort keys are copied when it is added, so a price change must remove the item and add it
+// back (Shop does this through StockItem's price setters).
+public class StockIndex {
+
+    private static final Comparator<Entry> BY_SELL_PRICE = Comparator.<Entry>comparingInt(entry -> entry.sellPrice)
+            .thenComparingLong(entry -> entry.serial);
+    private static final Comparator<Entry> BY_MARKUP_DESCENDING = Comparator.<Entry>comparingInt(entry -> entry.markup).reversed()
+            .thenComparingLong(entry -> entry.serial);
+
+    private final Map<StockItem, Entry> entries = new IdentityHashMap<StockItem, Entry>();
+    private final NavigableSet<Entry> bySellPrice = new TreeSet<Entry>(BY_SELL_PRICE);
+    private final NavigableSet<Entry> byMarkup = new TreeSet<Entry>(BY_MARKUP_DESCENDING);
+    private final Map<InstrumentType, NavigableSet<Entry>> bySellPriceForType = new EnumMap<InstrumentType, NavigableSet<Entry>>(InstrumentType.class);
+    private final Map<InstrumentType, NavigableSet<Entry>> byMarkupForType = new EnumMap<InstrumentType, NavigableSet<Entry>>(InstrumentType.class);
+    private long nextSerial;
+
+    StockIndex() {
+        for (InstrumentType type : InstrumentType.values()) {
+            bySellPriceForType.put(type, new TreeSet<Entry>(BY_SELL_PRICE));
+            byMarkupForType.put(type, new TreeSet<Entry>(BY_MARKUP_DESCENDING));
+        }
+    }
+
+    // Items selling for minPrice to maxPrice inclusive, cheapest first
+    public List<StockItem> getPricedBetween(int minPrice, int maxPrice) {
+        return priceRange(bySellPrice, minPrice, maxPrice);
+    }
+
+    public List<StockItem> getPricedBetween(InstrumentType type, int minPrice, int maxPrice) {
+        return priceRange(bySellPriceForType.get(type), minPrice, maxPrice);
+    }
+
+    // The k items with the biggest markup, biggest first
+    public List<StockItem> getTopByMarkup(int k) {
+        return first(byMarkup, k);
+    }
+
+    public List<StockItem> getTopByMarkup(InstrumentType type, int k) {
+        return first(byMarkupForType.get(type), k);
+    }
+
+    void add(StockItem item) {
+        InstrumentType type = item instanceof Instrument ? ((Instrument) item).getType() : null;
+        Entry entry = new Entry(item, item.getSellPrice(), item.calculateMarkup(), type, nextSerial++);
+        entries.put(item, entry);
+        bySellPrice.add(entry);
+        byMarkup.add(entry);
+        if (type != null) {
+            bySellPriceForType.get(type).add(entry);
+            byMarkupForType.get(type).add(entry);
+        }
+    }
+
+    void remove(StockItem item) {
+        Entry entry = entries.remove(item);
+        if (entry == null) {
+            return;
+        }
+        bySellPrice.remove(entry);
+        byMarkup.remove(entry);
+        if (entry.type != null) {
+            bySellPriceForType.get(entry.type).remove(entry);
+            byMarkupForType.get(entry.type).remove(entry);
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        bySellPrice.clear();
+        byMarkup.clear();
+        for (InstrumentType type : InstrumentType.values()) {
+            bySellPriceForType.get(type).clear();
+            byMarkupForType.get(type).clear();
+        }
+    }
+
+    private static List<StockItem> priceRange(NavigableSet<Entry> sorted, int minPrice, int maxPrice) {
+        List<StockItem> items = new ArrayList<StockItem>();
+        if (minPrice > maxPrice) {
+            return items;
+        }
+        // Serials run from 0 up, so these bounds sit before and after every entry at their price
+        Entry from = new Entry(null, minPrice, 0, null, Long.MIN_VALUE);
+        Entry to = new Entry(null, maxPrice, 0, null, Long.MAX_VALUE);
+        for (Entry entry : sorted.subSet(from, true, to, true)) {
+            items.add(entry.item);
+        }
+        return items;
+    }
+
+    private static List<StockItem> first(NavigableSet<Entry> sorted, int k) {
+        List<StockItem> items = new ArrayList<StockItem>(Math.min(Math.max(k, 0), sorted.size()));
+        for (Entry entry : sorted) {
+            if (items.size() >= k) {
+                break;
+            }
+            items.add(entry.item);
+        }
+        return items;
+    }
+
+    private static class Entry {
+        private final StockItem item;
+        private final int sellPrice;
+        private final int markup;
+        private final InstrumentType type;
+        private final long serial;
+
+        private Entry(StockItem item, int sellPrice, int markup, InstrumentType type, long serial) {
+            this.item = item;
+            this.sellPrice = sellPrice;
+            this.markup = markup;
+            this.type = type;
+            this.serial = serial;
+        }
+    }
+}
@@ -2,14 +2,25 @@ package models;
 
 import behaviours.ISell;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Index;
+
 import javax.persistence.*;
 
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
+@org.hibernate.annotations.Table(appliesTo = "StockItem",
+        indexes = {@Index(name = "stock_item_shop_idx", columnNames = {"shop_id", "id"}),
+                @Index(name = "stock_item_shop_price_idx", columnNames = {"shop_id", "sell_price"})})
 public abstract class StockItem implements ISell {
     private int id;
     private int buyPrice;
     private int sellPrice;
+    // The one shop stocking this item, persisted as shop_id
+    private Shop shop;
+    // Units on hand when the item was loaded or first saved. Only db.Inventory writes it after that,
+    // so saving an item with a stale quantity can't overwrite what the Inventory has flushed.
+    private int quantity = 1;
 
     public StockItem(int buyPrice, int sellPrice) {
         this.buyPrice = buyPrice;
@@ -20,7 +31,8 @@ public abstract class StockItem implements ISell {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_item_seq")
+    @SequenceGenerator(name = "stock_item_seq", sequenceName = "stock_item_seq", allocationSize = 50)
     @Column(name="id")
     public int getId() {
         return id;
@@ -36,7 +48,9 @@ public abstract class StockItem implements ISell {
     }
 
     public void setBuyPrice(int buyPrice) {
+        uncountInShop();
         this.buyPrice = buyPrice;
+        countInShop();
     }
 
     @Column(name="sell_price")
@@ -45,10 +59,49 @@ public abstract class StockItem implements ISell {
     }
 
     public void setSellPrice(int sellPrice) {
+        uncountInShop();
         this.sellPrice = sellPrice;
+        countInShop();
+    }
+
+    @Column(name="quantity", updatable = false)
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name="shop_id")
+    public Shop getShop() {
+        return shop;
+    }
+
+    public void setShop(Shop shop) {
+        this.shop = shop;
     }
 
     public int calculateMarkup(){
         return this.sellPrice - this.buyPrice;
     }
+
+    // Keeps the shop's running totals in step with a price or type change. Only a shop holding the item
+    // in memory keeps totals; a shop still to be loaded from the database is never touched.
+    void uncountInShop() {
+        if (shopHoldsThis()) {
+            shop.uncount(this);
+        }
+    }
+
+    void countInShop() {
+        if (shopHoldsThis()) {
+            shop.count(this);
+        }
+    }
+
+    private boolean shopHoldsThis() {
+        return shop != null && Hibernate.isInitialized(shop) && shop.hasInStock(this);
+    }
 }
@@ -0,0 +1,197 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// A shop's stock as a set with O(1) add, remove and contains, iterated in the order items were added.
+// Items sit in a dense array in insertion order; a removed item leaves a gap, and the array is compacted
+// once gaps make up half of it. An open-addressing hash table maps each item to its place in the array.
+// Items are keyed on object identity rather than id, since stock is usually added before it is saved,
+// when every id is still 0, and saving gives an item already in the set its id.
+// Every method is thread-safe. Iterators work on a snapshot: the array is copied before the first
+// change that would overwrite a slot a snapshot can see, so taking one is O(1) and never blocks writers.
+public class StockSet implements Iterable<StockItem> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int EMPTY = -1;
+
+    private StockItem[] items = new StockItem[INITIAL_CAPACITY];
+    // Slots of items in use, including gaps
+    private int end;
+    private int size;
+    // Positions in items, or EMPTY; linear probing, kept at most half full
+    private int[] table = newTable(INITIAL_CAPACITY);
+    // Whether a snapshot may still be reading items
+    private boolean shared;
+
+    public synchronized boolean add(StockItem item) {
+        if (item == null) {
+            throw new NullPointerException("Stock items can't be null");
+        }
+        if (find(item) != EMPTY) {
+            return false;
+        }
+        if (end == items.length) {
+            // Always into a new array, so snapshots of the old one are untouched
+            compact(Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        items[end] = item;
+        insert(item, end);
+        end++;
+        size++;
+        return true;
+    }
+
+    public synchronized boolean remove(StockItem item) {
+        int slot = find(item);
+        if (slot == EMPTY) {
+            return false;
+        }
+        int position = table[slot];
+        deleteSlot(slot);
+        if (shared) {
+            items = items.clone();
+            shared = false;
+        }
+        items[position] = null;
+        size--;
+        if (end > INITIAL_CAPACITY && size < end / 2) {
+            compact(Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        return true;
+    }
+
+    public synchronized boolean contains(StockItem item) {
+        return item != null && find(item) != EMPTY;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        items = new StockItem[INITIAL_CAPACITY];
+        table = newTable(INITIAL_CAPACITY);
+        end = 0;
+        size = 0;
+        shared = false;
+    }
+
+    // The items at the time of the call, in the order they were added; later changes aren't seen
+    @Override
+    public Iterator<StockItem> iterator() {
+        final StockItem[] snapshot;
+        final int snapshotEnd;
+        synchronized (this) {
+            snapshot = items;
+            snapshotEnd = end;
+            shared = true;
+        }
+        return new Iterator<StockItem>() {
+            private int next = skipGaps(0);
+
+            public boolean hasNext() {
+                return next < snapshotEnd;
+            }
+
+            public StockItem next() {
+                if (next >= snapshotEnd) {
+                    throw new NoSuchElementException();
+                }
+                StockItem item = snapshot[next];
+                next = skipGaps(next + 1);
+                return item;
+            }
+
+            private int skipGaps(int from) {
+                while (from < snapshotEnd && snapshot[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+        };
+    }
+
+    public List<StockItem> toList() {
+        List<StockItem> list = new ArrayList<StockItem>();
+        for (StockItem item : this) {
+            list.add(item);
+        }
+        return list;
+    }
+
+    // Copies the items, without gaps, into a new array of the given capacity and re-indexes them
+    private void compact(int capacity) {
+        StockItem[] compacted = new StockItem[capacity];
+        int[] newTable = newTable(capacity);
+        int position = 0;
+        for (int i = 0; i < end; i++) {
+            if (items[i] != null) {
+                compacted[position] = items[i];
+                newTable[probe(newTable, items[i])] = position;
+                position++;
+            }
+        }
+        items = compacted;
+        table = newTable;
+        end = position;
+        shared = false;
+    }
+
+    // The table slot holding item, or EMPTY
+    private int find(StockItem item) {
+        int mask = table.length - 1;
+        for (int slot = hash(item) & mask; table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (items[table[slot]] == item) {
+                return slot;
+            }
+        }
+        return EMPTY;
+    }
+
+    private void insert(StockItem item, int position) {
+        table[probe(table, item)] = position;
+    }
+
+    // The first empty slot in item's probe sequence
+    private static int probe(int[] table, StockItem item) {
+        int mask = table.length - 1;
+        int slot = hash(item) & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Empties a slot and shifts later entries of the same probe run back into the hole, so lookups
+    // never stop early at it (no tombstones needed)
+    private void deleteSlot(int hole) {
+        int mask = table.length - 1;
+        table[hole] = EMPTY;
+        for (int slot = (hole + 1) & mask; table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int home = hash(items[table[slot]]) & mask;
+            // Move the entry back if the hole lies cyclically between its home slot and where it is now
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                table[hole] = table[slot];
+                table[slot] = EMPTY;
+                hole = slot;
+            }
+        }
+    }
+
+    private static int hash(StockItem item) {
+        // Spreads identity hash codes, which can be close together, across the table
+        int hash = System.identityHashCode(item) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    // Room for twice as many entries as the items array can hold, rounded up to a power of two for masking
+    private static int[] newTable(int itemCapacity) {
+        int[] table = new int[Integer.highestOneBit(itemCapacity * 2 - 1) << 1];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
@@ -0,0 +1,57 @@
+package models;
+
+// Running sums over a set of stock items, updated one item at a time
+public class StockTotals {
+
+    private int itemCount;
+    private long totalBuyPrice;
+    private long totalSellPrice;
+    private long totalMarkup;
+
+    public StockTotals() {
+    }
+
+    public StockTotals(int itemCount, long totalBuyPrice, long totalSellPrice) {
+        this.itemCount = itemCount;
+        this.totalBuyPrice = totalBuyPrice;
+        this.totalSellPrice = totalSellPrice;
+        this.totalMarkup = totalSellPrice - totalBuyPrice;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public long getTotalBuyPrice() {
+        return totalBuyPrice;
+    }
+
+    public long getTotalSellPrice() {
+        return totalSellPrice;
+    }
+
+    public long getTotalMarkup() {
+        return totalMarkup;
+    }
+
+    void add(StockItem item) {
+        itemCount++;
+        totalBuyPrice += item.getBuyPrice();
+        totalSellPrice += item.getSellPrice();
+        totalMarkup += item.calculateMarkup();
+    }
+
+    void remove(StockItem item) {
+        itemCount--;
+        totalBuyPrice -= item.getBuyPrice();
+        totalSellPrice -= item.getSellPrice();
+        totalMarkup -= item.calculateMarkup();
+    }
+
+    void clear() {
+        itemCount = 0;
+        totalBuyPrice = 0;
+        totalSellPrice = 0;
+        totalMarkup = 0;
+    }
+}
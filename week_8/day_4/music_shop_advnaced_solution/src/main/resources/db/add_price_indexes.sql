@@ -0,0 +1,6 @@
+-- Indexes behind DBHelper.getStockPricedBetween and DBHelper.getTopByMarkup, for existing databases.
+-- The markup index is on an expression, which the StockItem annotations can't declare, so databases
+-- built by hbm2ddl get it from import.sql instead.
+
+CREATE INDEX stock_item_shop_price_idx ON stockitem (shop_id, sell_price);
+CREATE INDEX stock_item_shop_markup_idx ON stockitem (shop_id, (sell_price - buy_price) DESC);
@@ -0,0 +1,9 @@
+-- Adds the shops table and links each stock item to the shop holding it.
+-- Existing stock is left without a shop until it is added to one.
+-- Run once against the database before starting the app with the Shop mapping.
+
+CREATE SEQUENCE shop_seq INCREMENT BY 50;
+CREATE TABLE shops (id int4 NOT NULL PRIMARY KEY, name varchar(255));
+
+ALTER TABLE stockitem ADD COLUMN shop_id int4 REFERENCES shops;
+CREATE INDEX stock_item_shop_idx ON stockitem (shop_id, id);
@@ -0,0 +1,4 @@
+-- Gives every stock item a quantity on hand. Existing rows were one unit each.
+-- Run once against the database before starting the app with the quantity mapping.
+
+ALTER TABLE stockitem ADD COLUMN quantity int4 NOT NULL DEFAULT 1;
@@ -0,0 +1,29 @@
+-- Moves an existing database from the JOINED mapping of the StockItem hierarchy to the
+-- SINGLE_TABLE mapping in single_table_inheritance.orm.xml.
+-- Every subclass column moves onto stockitem, item_kind records which subclass each row is,
+-- and the per-subclass tables are dropped.
+-- Run once, with the app stopped, then start it with -Dmusicshop.inheritance=single_table.
+
+BEGIN;
+
+ALTER TABLE stockitem
+    ADD COLUMN item_kind varchar(20),
+    ADD COLUMN colour varchar(255),
+    ADD COLUMN type int4,
+    ADD COLUMN model varchar(255),
+    ADD COLUMN number_of_strings int4,
+    ADD COLUMN manufacturer varchar(255),
+    ADD COLUMN title varchar(255);
+
+UPDATE stockitem s SET colour = i.colour, type = i.type FROM instrument i WHERE i.id = s.id;
+UPDATE stockitem s SET item_kind = 'GUITAR', model = g.model, number_of_strings = g.number_of_strings FROM guitars g WHERE g.id = s.id;
+UPDATE stockitem s SET item_kind = 'PIANO', manufacturer = p.manufacturer FROM pianos p WHERE p.id = s.id;
+UPDATE stockitem s SET item_kind = 'STAND', colour = st.colour FROM stands st WHERE st.id = s.id;
+UPDATE stockitem s SET item_kind = 'BOOK', title = b.title FROM books b WHERE b.id = s.id;
+
+-- Fails, and so rolls everything back, if any row didn't belong to a known subclass
+ALTER TABLE stockitem ALTER COLUMN item_kind SET NOT NULL;
+
+DROP TABLE guitars, pianos, stands, books, instrument;
+
+COMMIT;
@@ -0,0 +1,11 @@
+-- Moves an existing database from per-row id generation to the pooled sequences
+-- declared with @SequenceGenerator(allocationSize = 50).
+-- Each sequence is placed past the current max id, so the first block Hibernate
+-- reserves cannot collide with rows that are already there.
+-- Run once against the database before starting the app with the new mappings.
+
+CREATE SEQUENCE stock_item_seq INCREMENT BY 50;
+SELECT setval('stock_item_seq', COALESCE((SELECT MAX(id) FROM stockitem), 0) + 51, false);
+
+-- StockItem ids used to come from a serial column, which the new mapping no longer needs
+ALTER TABLE stockitem ALTER COLUMN id DROP DEFAULT;
@@ -0,0 +1,28 @@
+-- Moves a database created with the SINGLE_TABLE mapping in single_table_inheritance.orm.xml
+-- back to the JOINED mapping declared on the StockItem and Instrument annotations.
+-- Run once, with the app stopped, then start it without -Dmusicshop.inheritance.
+
+BEGIN;
+
+CREATE TABLE instrument (colour varchar(255), type int4, id int4 NOT NULL PRIMARY KEY REFERENCES stockitem);
+CREATE TABLE guitars (model varchar(255), number_of_strings int4, id int4 NOT NULL PRIMARY KEY REFERENCES instrument);
+CREATE TABLE pianos (manufacturer varchar(255), id int4 NOT NULL PRIMARY KEY REFERENCES instrument);
+CREATE TABLE stands (colour varchar(255), id int4 NOT NULL PRIMARY KEY REFERENCES stockitem);
+CREATE TABLE books (title varchar(255), id int4 NOT NULL PRIMARY KEY REFERENCES stockitem);
+
+INSERT INTO instrument (id, colour, type) SELECT id, colour, type FROM stockitem WHERE item_kind IN ('GUITAR', 'PIANO');
+INSERT INTO guitars (id, model, number_of_strings) SELECT id, model, number_of_strings FROM stockitem WHERE item_kind = 'GUITAR';
+INSERT INTO pianos (id, manufacturer) SELECT id, manufacturer FROM stockitem WHERE item_kind = 'PIANO';
+INSERT INTO stands (id, colour) SELECT id, colour FROM stockitem WHERE item_kind = 'STAND';
+INSERT INTO books (id, title) SELECT id, title FROM stockitem WHERE item_kind = 'BOOK';
+
+ALTER TABLE stockitem
+    DROP COLUMN item_kind,
+    DROP COLUMN colour,
+    DROP COLUMN type,
+    DROP COLUMN model,
+    DROP COLUMN number_of_strings,
+    DROP COLUMN manufacturer,
+    DROP COLUMN title;
+
+COMMIT;
@@ -0,0 +1 @@
+CREATE INDEX stock_item_shop_markup_idx ON stockitem (shop_id, (sell_price - buy_price) DESC)
@@ -0,0 +1,80 @@
+import models.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestColumnarStock {
+
+    ColumnarStock stock;
+
+    @Before
+    public void before(){
+        stock = new ColumnarStock();
+        stock.add(new Guitar("Fender", "White", 6, 500, 700));
+        stock.add(new Piano("Yamaha", "Hot Pink", 1000, 1500));
+        stock.add(new MusicStand("White", 4, 6));
+        stock.add(new MusicBook("Learn music good", 5, 10));
+    }
+
+    @Test
+    public void canCountRows(){
+        assertEquals(4, stock.size());
+    }
+
+    @Test
+    public void canTotalMarkup(){
+        assertEquals(707, stock.totalMarkup());
+        assertEquals(1509, stock.totalBuyPrice());
+        assertEquals(2216, stock.totalSellPrice());
+    }
+
+    @Test
+    public void canTotalMarkupForOneKind(){
+        assertEquals(200, stock.totalMarkup(ColumnarStock.Kind.GUITAR));
+        assertEquals(5, stock.totalMarkup(ColumnarStock.Kind.MUSIC_BOOK));
+    }
+
+    @Test
+    public void canTotalMarkupByInstrumentType(){
+        long[] expected = new long[InstrumentType.values().length];
+        expected[InstrumentType.STRING.ordinal()] = 200;
+        expected[InstrumentType.KEYBOARD.ordinal()] = 500;
+        assertArrayEquals(expected, stock.totalMarkupByType());
+    }
+
+    @Test
+    public void canDecodeAttributes(){
+        assertEquals(ColumnarStock.Kind.PIANO, stock.getKind(1));
+        assertEquals("Hot Pink", stock.getColour(1));
+        assertEquals("Yamaha", stock.getModel(1));
+        assertNull(stock.getType(2));
+        assertNull(stock.getColour(3));
+    }
+
+    @Test
+    public void canCountByColour(){
+        assertEquals(2, stock.countByColour("White"));
+        assertEquals(0, stock.countByColour("Green"));
+    }
+
+    @Test
+    public void removingMovesLastRowIntoPlace(){
+        stock.remove(0);
+        assertEquals(3, stock.size());
+        assertEquals(ColumnarStock.Kind.MUSIC_BOOK, stock.getKind(0));
+        assertEquals(507, stock.totalMarkup());
+    }
+
+    @Test
+    public void growsPastInitialCapacity(){
+        for (int i = 0; i < 100; i++) {
+            stock.add(ColumnarStock.Kind.MUSIC_STAND, 1, 2, null, "Black", null);
+        }
+        assertEquals(104, stock.size());
+        assertEquals(807, stock.totalMarkup());
+        assertEquals(100, stock.countByColour("Black"));
+    }
+}
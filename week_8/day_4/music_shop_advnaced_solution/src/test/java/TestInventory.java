@@ -0,0 +1,134 @@
+import db.DBHelper;
+import db.Inventory;
+import db.Reservation;
+import models.Guitar;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestInventory {
+
+    Map<Integer, Integer> written;
+    Inventory inventory;
+
+    @Before
+    public void before(){
+        written = new ConcurrentHashMap<Integer, Integer>();
+        inventory = new Inventory(written::putAll, 10);
+        Guitar guitar = new Guitar("Fender", "White", 6, 500, 700);
+        guitar.setId(1);
+        guitar.setQuantity(5);
+        inventory.load(Arrays.asList(guitar));
+    }
+
+    @After
+    public void after(){
+        inventory.close();
+    }
+
+    @Test
+    public void reservingHoldsUnits(){
+        Reservation reservation = inventory.reserve(1, 2);
+        assertEquals(3, inventory.getAvailable(1));
+        assertEquals(2, inventory.getReserved(1));
+        assertEquals(2, reservation.getQuantity());
+    }
+
+    @Test
+    public void cannotReserveMoreThanAvailable(){
+        inventory.reserve(1, 4);
+        assertNull(inventory.reserve(1, 2));
+        assertEquals(1, inventory.getAvailable(1));
+    }
+
+    @Test
+    public void releasingPutsUnitsBackOnSale(){
+        Reservation reservation = inventory.reserve(1, 2);
+        assertTrue(inventory.release(reservation));
+        assertFalse(inventory.commit(reservation));
+        assertEquals(5, inventory.getAvailable(1));
+        assertEquals(0, inventory.getReserved(1));
+    }
+
+    @Test
+    public void committedSalesAreWrittenBehind(){
+        inventory.commit(inventory.reserve(1, 2));
+        inventory.restock(1, 10);
+        inventory.flush();
+        assertEquals(13, (int) written.get(1));
+    }
+
+    @Test
+    public void reloadingUpdatesAnItemWithNothingOutstanding(){
+        Guitar guitar = new Guitar("Fender", "White", 6, 500, 700);
+        guitar.setId(1);
+        guitar.setQuantity(8);
+        inventory.load(Arrays.asList(guitar));
+        assertEquals(8, inventory.getAvailable(1));
+    }
+
+    @Test
+    public void reloadingKeepsReservations(){
+        Reservation reservation = inventory.reserve(1, 2);
+        Guitar guitar = new Guitar("Fender", "White", 6, 500, 700);
+        guitar.setId(1);
+        guitar.setQuantity(8);
+        try {
+            inventory.load(Arrays.asList(guitar));
+            fail("Reloaded an item with a reservation");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(3, inventory.getAvailable(1));
+        assertTrue(inventory.commit(reservation));
+        assertEquals(0, inventory.getReserved(1));
+    }
+
+    @Test
+    public void savingAnItemKeepsTheFlushedQuantity(){
+        Guitar guitar = new Guitar("Gibson", "Black", 6, 800, 1200);
+        guitar.setQuantity(5);
+        DBHelper.saveOrUpdate(guitar);
+        DBHelper.saveQuantities(Collections.singletonMap(guitar.getId(), 2));
+        guitar.setSellPrice(1100);
+        DBHelper.saveOrUpdate(guitar);
+        Guitar found = DBHelper.find(Guitar.class, guitar.getId());
+        assertEquals(2, found.getQuantity());
+        assertEquals(1100, found.getSellPrice());
+    }
+
+    @Test
+    public void concurrentCheckoutsNeverOversell() throws InterruptedException {
+        inventory.restock(1, 995);
+        AtomicInteger sold = new AtomicInteger();
+        ExecutorService checkouts = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 5000; i++) {
+            checkouts.execute(() -> {
+                Reservation reservation = inventory.reserve(1, 1);
+                if (reservation != null && inventory.commit(reservation)) {
+                    sold.incrementAndGet();
+                }
+            });
+        }
+        checkouts.shutdown();
+        checkouts.awaitTermination(1, TimeUnit.MINUTES);
+        inventory.flush();
+        assertEquals(1000, sold.get());
+        assertEquals(0, inventory.getAvailable(1));
+        assertEquals(0, (int) written.get(1));
+    }
+}
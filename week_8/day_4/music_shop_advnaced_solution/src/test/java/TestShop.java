@@ -0,0 +1,114 @@
+import models.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestShop {
+
+    Shop shop;
+    Guitar guitar;
+    Piano piano;
+    MusicStand stand;
+
+    @Before
+    public void before(){
+        shop = new Shop("Ray's Music Exchange");
+        guitar = new Guitar("Fender", "White", 6, 500, 700);
+        piano = new Piano("Yamaha", "Hot Pink", 1000, 1500);
+        stand = new MusicStand("Blue", 4, 6);
+        shop.addToStock(guitar);
+        shop.addToStock(piano);
+        shop.addToStock(stand);
+    }
+
+    @Test
+    public void canCountStock(){
+        assertEquals(3, shop.stockCount());
+    }
+
+    @Test
+    public void canCalculateTotalPotentialProfit(){
+        assertEquals(702, shop.totalPotentialProfit());
+    }
+
+    @Test
+    public void removingStockUpdatesTotals(){
+        shop.removeFromStock(piano);
+        assertEquals(2, shop.stockCount());
+        assertEquals(202, shop.totalPotentialProfit());
+        assertEquals(504, shop.getTotals().getTotalBuyPrice());
+        assertEquals(706, shop.getTotals().getTotalSellPrice());
+    }
+
+    @Test
+    public void removingItemNotInStockChangesNothing(){
+        shop.removeFromStock(new MusicBook("Learn music good", 5, 10));
+        assertEquals(3, shop.stockCount());
+        assertEquals(702, shop.totalPotentialProfit());
+    }
+
+    @Test
+    public void priceChangesUpdateTotals(){
+        guitar.setSellPrice(800);
+        piano.setBuyPrice(1100);
+        assertEquals(702, shop.totalPotentialProfit());
+        assertEquals(300, shop.getTotals(InstrumentType.STRING).getTotalMarkup());
+        assertEquals(400, shop.getTotals(InstrumentType.KEYBOARD).getTotalMarkup());
+    }
+
+    @Test
+    public void canBreakDownTotalsByInstrumentType(){
+        assertEquals(1, shop.getTotals(InstrumentType.STRING).getItemCount());
+        assertEquals(500, shop.getTotals(InstrumentType.KEYBOARD).getTotalMarkup());
+        assertEquals(0, shop.getTotals(InstrumentType.BRASS).getItemCount());
+    }
+
+    @Test
+    public void changingInstrumentTypeMovesItsTotals(){
+        guitar.setType(InstrumentType.PERCUSSION);
+        assertEquals(0, shop.getTotals(InstrumentType.STRING).getItemCount());
+        assertEquals(200, shop.getTotals(InstrumentType.PERCUSSION).getTotalMarkup());
+    }
+
+    @Test
+    public void addingStockLinksItemToShop(){
+        assertEquals(shop, guitar.getShop());
+        shop.removeFromStock(guitar);
+        assertNull(guitar.getShop());
+    }
+
+    @Test
+    public void canFindStockInPriceBand(){
+        assertEquals(Arrays.asList(stand, guitar), shop.getIndex().getPricedBetween(5, 1000));
+        assertEquals(Arrays.asList(guitar), shop.getIndex().getPricedBetween(InstrumentType.STRING, 0, 2000));
+    }
+
+    @Test
+    public void canRankStockByMarkup(){
+        assertEquals(Arrays.asList(piano, guitar), shop.getIndex().getTopByMarkup(2));
+        guitar.setSellPrice(1200);
+        assertEquals(Arrays.asList(guitar, piano), shop.getIndex().getTopByMarkup(2));
+        shop.removeFromStock(guitar);
+        assertEquals(Arrays.asList(piano, stand), shop.getIndex().getTopByMarkup(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void itemCanOnlyBeStockedByOneShop(){
+        new Shop("Guitar Guitar").addToStock(guitar);
+    }
+
+    @Test
+    public void itemCanMoveShopOnceRemoved(){
+        Shop other = new Shop("Guitar Guitar");
+        shop.removeFromStock(guitar);
+        other.addToStock(guitar);
+        assertEquals(other, guitar.getShop());
+        guitar.setSellPrice(900);
+        assertEquals(400, other.totalPotentialProfit());
+        assertEquals(502, shop.totalPotentialProfit());
+    }
+}
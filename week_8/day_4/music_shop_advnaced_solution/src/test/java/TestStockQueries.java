@@ -0,0 +1,92 @@
+import db.DBHelper;
+import models.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestStockQueries {
+
+    Shop shop;
+    List<Integer> stockIds;
+
+    @Before
+    public void before(){
+        shop = new Shop("Ray's Music Exchange");
+        DBHelper.saveOrUpdate(shop);
+        List<StockItem> items = new ArrayList<StockItem>();
+        items.add(new Guitar("Fender", "White", 6, 500, 700));
+        items.add(new Guitar("Gibson", "Black", 6, 800, 1200));
+        items.add(new Piano("Yamaha", "Hot Pink", 1000, 1500));
+        items.add(new MusicStand("Blue", 4, 6));
+        items.add(new MusicBook("Learn music good", 5, 10));
+        stockIds = new ArrayList<Integer>();
+        for (StockItem item : items) {
+            shop.addToStock(item);
+            DBHelper.saveOrUpdate(item);
+            stockIds.add(item.getId());
+        }
+
+        // Stock of another shop, which none of the queries should see
+        Shop other = new Shop("Guitar Guitar");
+        DBHelper.saveOrUpdate(other);
+        Guitar otherGuitar = new Guitar("Ibanez", "Red", 7, 300, 450);
+        other.addToStock(otherGuitar);
+        DBHelper.saveOrUpdate(otherGuitar);
+    }
+
+    @Test
+    public void pagesThroughStockInIdOrder(){
+        List<Integer> paged = new ArrayList<Integer>();
+        List<StockItem> page = DBHelper.getStockPage(shop, 0, 2);
+        while (!page.isEmpty()) {
+            assertEquals(true, page.size() <= 2);
+            for (StockItem item : page) {
+                paged.add(item.getId());
+            }
+            page = DBHelper.getStockPage(shop, paged.get(paged.size() - 1), 2);
+        }
+        assertEquals(stockIds, paged);
+    }
+
+    @Test
+    public void streamsEveryItemOfTheShop(){
+        List<Integer> streamed;
+        try (Stream<StockItem> stock = DBHelper.streamStock(shop)) {
+            streamed = stock.map(StockItem::getId).sorted().collect(Collectors.toList());
+        }
+        assertEquals(stockIds, streamed);
+    }
+
+    @Test
+    public void totalsStockInTheDatabase(){
+        Shop found = DBHelper.find(Shop.class, shop.getId());
+        StockTotals totals = DBHelper.getStockTotals(found);
+        assertEquals(5, totals.getItemCount());
+        assertEquals(2309, totals.getTotalBuyPrice());
+        assertEquals(3416, totals.getTotalSellPrice());
+        assertEquals(1107, totals.getTotalMarkup());
+        assertEquals(0, found.stockCount());
+    }
+
+    @Test
+    public void countsAndSumsProfitOfPersistedStock(){
+        Shop found = DBHelper.find(Shop.class, shop.getId());
+        assertEquals(5, DBHelper.getStockCount(found));
+        assertEquals(1107, DBHelper.getPotentialProfit(found));
+        assertEquals(0, found.totalPotentialProfit());
+    }
+
+    @Test
+    public void totalsStockOfOneInstrumentType(){
+        StockTotals totals = DBHelper.getStockTotals(shop, InstrumentType.STRING);
+        assertEquals(2, totals.getItemCount());
+        assertEquals(600, totals.getTotalMarkup());
+        assertEquals(0, DBHelper.getStockTotals(shop, InstrumentType.BRASS).getItemCount());
+    }
+}
@@ -0,0 +1,82 @@
+import models.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestStockSet {
+
+    StockSet stock;
+    Guitar guitar;
+    Piano piano;
+    MusicStand stand;
+
+    @Before
+    public void before(){
+        stock = new StockSet();
+        guitar = new Guitar("Fender", "White", 6, 500, 700);
+        piano = new Piano("Yamaha", "Hot Pink", 1000, 1500);
+        stand = new MusicStand("Blue", 4, 6);
+        stock.add(guitar);
+        stock.add(piano);
+        stock.add(stand);
+    }
+
+    @Test
+    public void keepsInsertionOrder(){
+        stock.remove(piano);
+        stock.add(piano);
+        assertEquals(Arrays.asList(guitar, stand, piano), stock.toList());
+    }
+
+    @Test
+    public void ignoresDuplicates(){
+        assertFalse(stock.add(guitar));
+        assertEquals(3, stock.size());
+    }
+
+    @Test
+    public void itemsWithTheSameIdAreDifferentStock(){
+        MusicStand otherStand = new MusicStand("Blue", 4, 6);
+        assertTrue(stock.add(otherStand));
+        assertTrue(stock.remove(stand));
+        assertTrue(stock.contains(otherStand));
+        assertFalse(stock.contains(stand));
+    }
+
+    @Test
+    public void iteratorIsASnapshot(){
+        Iterator<StockItem> snapshot = stock.iterator();
+        stock.remove(guitar);
+        stock.add(new MusicBook("Learn music good", 5, 10));
+        List<StockItem> seen = new ArrayList<StockItem>();
+        snapshot.forEachRemaining(seen::add);
+        assertEquals(Arrays.asList(guitar, piano, stand), seen);
+    }
+
+    @Test
+    public void survivesManyAddsAndRemoves(){
+        List<StockItem> books = new ArrayList<StockItem>();
+        for (int i = 0; i < 10000; i++) {
+            MusicBook book = new MusicBook("Book " + i, 1, 2);
+            books.add(book);
+            stock.add(book);
+        }
+        for (int i = 0; i < books.size(); i += 2) {
+            assertTrue(stock.remove(books.get(i)));
+        }
+        assertEquals(5003, stock.size());
+        for (int i = 0; i < books.size(); i++) {
+            assertEquals(i % 2 == 1, stock.contains(books.get(i)));
+        }
+        List<StockItem> list = stock.toList();
+        assertEquals(Arrays.asList(guitar, piano, stand, books.get(1), books.get(3)), list.subList(0, 5));
+    }
+}
@@ -0,0 +1,131 @@
+package benchmarks;
+
+import db.InheritanceMapping;
+import models.Guitar;
+import models.MusicBook;
+import models.MusicStand;
+import models.Piano;
+import models.StockItem;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.criterion.Restrictions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Reads and inserts against a real database under each StockItem inheritance mapping.
+// Uses the test hibernate.cfg.xml (the testdb database), which is dropped and refilled for every trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InheritanceMappingBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+    private static final String[] COLOURS = {"Red", "White", "Black", "Blue", "Hot Pink"};
+
+    @Param({"JOINED", "SINGLE_TABLE"})
+    InheritanceMapping mapping;
+
+    @Param({"10000", "100000"})
+    int itemCount;
+
+    SessionFactory sessionFactory;
+    Random random;
+    int firstId;
+    int lastId;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = mapping.configure()
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.show_sql", "false")
+                .buildSessionFactory();
+        random = new Random(42);
+        Session session = sessionFactory.openSession();
+        Transaction transaction = session.beginTransaction();
+        for (int i = 0; i < itemCount; i++) {
+            session.save(randomItem());
+            if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+                session.flush();
+                session.clear();
+            }
+        }
+        transaction.commit();
+        firstId = (Integer) session.createQuery("select min(id) from StockItem").uniqueResult();
+        lastId = (Integer) session.createQuery("select max(id) from StockItem").uniqueResult();
+        session.close();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // Every item, whatever its subclass
+    @Benchmark
+    public List polymorphicReadAll() {
+        Session session = sessionFactory.openSession();
+        try {
+            return session.createCriteria(StockItem.class).list();
+        } finally {
+            session.close();
+        }
+    }
+
+    // One item by id, without knowing its subclass
+    @Benchmark
+    public Object polymorphicReadById() {
+        Session session = sessionFactory.openSession();
+        try {
+            return session.get(StockItem.class, firstId + random.nextInt(lastId - firstId + 1));
+        } finally {
+            session.close();
+        }
+    }
+
+    @Benchmark
+    public List subtypeRead() {
+        Session session = sessionFactory.openSession();
+        try {
+            return session.createCriteria(Guitar.class)
+                    .add(Restrictions.eq("colour", "Red"))
+                    .list();
+        } finally {
+            session.close();
+        }
+    }
+
+    // A batch of new items, rolled back afterwards so the table stays the same size
+    @Benchmark
+    public void insertBatch() {
+        Session session = sessionFactory.openSession();
+        Transaction transaction = session.beginTransaction();
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                session.save(randomItem());
+            }
+            session.flush();
+        } finally {
+            transaction.rollback();
+            session.close();
+        }
+    }
+
+    private StockItem randomItem() {
+        int buyPrice = 5 + random.nextInt(1000);
+        int sellPrice = buyPrice + random.nextInt(500);
+        String colour = COLOURS[random.nextInt(COLOURS.length)];
+        switch (random.nextInt(4)) {
+            case 0: return new Guitar("Model " + random.nextInt(50), colour, 6, buyPrice, sellPrice);
+            case 1: return new Piano("Maker " + random.nextInt(20), colour, buyPrice, sellPrice);
+            case 2: return new MusicStand(colour, buyPrice, sellPrice);
+            default: return new MusicBook("Book " + random.nextInt(200), buyPrice, sellPrice);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package benchmarks;
+
+import behaviours.IPlay;
+import models.Guitar;
+import models.Instrument;
+import models.InstrumentType;
+import models.Piano;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the IPlay.play() call site as the instruments behind it get more varied. Guitar and Piano
+// each override play(), so the JIT can't bind the call to one implementation the way it can for
+// calculateMarkup (only StockItem has one). A call site that has only seen one or two receiver classes
+// is inlined behind a type check; from three on it becomes a real interface dispatch. Only guitars and
+// pianos can be played today, so MEGAMORPHIC adds two stand-in instruments to show what a third and
+// fourth would cost.
+// The instruments are shuffled so the order of their classes can't be predicted, and each shape runs in
+// its own fork so the call site's profile only ever holds that shape's classes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayDispatchBenchmark {
+
+    @Param({"MONOMORPHIC", "BIMORPHIC", "MEGAMORPHIC"})
+    String shape;
+
+    @Param({"1000"})
+    int instrumentCount;
+
+    IPlay[] instruments;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int kinds = shape.equals("MONOMORPHIC") ? 1 : shape.equals("BIMORPHIC") ? 2 : 4;
+        List<IPlay> mixed = new ArrayList<IPlay>();
+        for (int i = 0; i < instrumentCount; i++) {
+            int buyPrice = 5 + random.nextInt(1000);
+            int sellPrice = buyPrice + random.nextInt(500);
+            switch (i % kinds) {
+                case 0: mixed.add(new Guitar("Fender", "White", 6, buyPrice, sellPrice)); break;
+                case 1: mixed.add(new Piano("Yamaha", "Black", buyPrice, sellPrice)); break;
+                case 2: mixed.add(new Drum(buyPrice, sellPrice)); break;
+                default: mixed.add(new Trumpet(buyPrice, sellPrice)); break;
+            }
+        }
+        Collections.shuffle(mixed, random);
+        instruments = mixed.toArray(new IPlay[0]);
+    }
+
+    @Benchmark
+    public long play() {
+        long total = 0;
+        for (IPlay instrument : instruments) {
+            total += instrument.play().length();
+        }
+        return total;
+    }
+
+    private static class Drum extends Instrument {
+        private Drum(int buyPrice, int sellPrice) {
+            super("Red", InstrumentType.PERCUSSION, buyPrice, sellPrice);
+        }
+
+        public String play() {
+            return "Ba-dum-tss";
+        }
+    }
+
+    private static class Trumpet extends Instrument {
+        private Trumpet(int buyPrice, int sellPrice) {
+            super("Brass", InstrumentType.BRASS, buyPrice, sellPrice);
+        }
+
+        public String play() {
+            return "Parp";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package benchmarks;
+
+import models.ColumnarStock;
+import models.Guitar;
+import models.Instrument;
+import models.InstrumentType;
+import models.MusicBook;
+import models.MusicStand;
+import models.Piano;
+import models.StockItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Markup aggregates over the same inventory held as StockItem objects and as ColumnarStock columns
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockAggregationBenchmark {
+
+    @Param({"10000", "1000000"})
+    int itemCount;
+
+    List<StockItem> objects;
+    ColumnarStock columns;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] colours = {"Red", "White", "Black", "Blue", "Hot Pink"};
+        objects = new ArrayList<StockItem>(itemCount);
+        columns = new ColumnarStock();
+        for (int i = 0; i < itemCount; i++) {
+            int buyPrice = 5 + random.nextInt(1000);
+            int sellPrice = buyPrice + random.nextInt(500);
+            String colour = colours[random.nextInt(colours.length)];
+            StockItem item;
+            switch (random.nextInt(4)) {
+                case 0: item = new Guitar("Model " + random.nextInt(50), colour, 6, buyPrice, sellPrice); break;
+                case 1: item = new Piano("Maker " + random.nextInt(20), colour, buyPrice, sellPrice); break;
+                case 2: item = new MusicStand(colour, buyPrice, sellPrice); break;
+                default: item = new MusicBook("Book " + random.nextInt(200), buyPrice, sellPrice); break;
+            }
+            objects.add(item);
+            columns.add(item);
+        }
+    }
+
+    @Benchmark
+    public long objectTotalMarkup() {
+        long total = 0;
+        for (StockItem item : objects) {
+            total += item.calculateMarkup();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long columnarTotalMarkup() {
+        return columns.totalMarkup();
+    }
+
+    @Benchmark
+    public long[] objectMarkupByType() {
+        long[] totals = new long[InstrumentType.values().length];
+        for (StockItem item : objects) {
+            if (item instanceof Instrument) {
+                totals[((Instrument) item).getType().ordinal()] += item.calculateMarkup();
+            }
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public long[] columnarMarkupByType() {
+        return columns.totalMarkupByType();
+    }
+
+    @Benchmark
+    public long objectGuitarMarkup() {
+        long total = 0;
+        for (StockItem item : objects) {
+            if (item instanceof Guitar) {
+                total += item.calculateMarkup();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long columnarGuitarMarkup() {
+        return columns.totalMarkup(ColumnarStock.Kind.GUITAR);
+    }
+}
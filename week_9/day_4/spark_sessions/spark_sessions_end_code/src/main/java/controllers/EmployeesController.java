@@ -6,9 +6,13 @@ import models.Employee;
 import spark.ModelAndView;
 import spark.template.velocity.VelocityTemplateEngine;
 
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static spark.Spark.get;
 import static spark.SparkBase.staticFileLocation;
@@ -30,6 +34,32 @@ public class EmployeesController {
 
             return new ModelAndView(model, "templates/layout.vtl");
         }, new VelocityTemplateEngine());
+
+        get("/employees/export", (req, res) -> {
+            LoginController.getLoggedInUserName(req, res);
+            res.type("text/csv");
+            res.header("Content-Disposition", "attachment; filename=employees.csv");
+            PrintWriter writer = new PrintWriter(new OutputStreamWriter(res.raw().getOutputStream(), StandardCharsets.UTF_8));
+            writer.println("id,type,first_name,last_name,salary,department");
+            // A failure part way through is left to propagate, so Spark fails the request rather than sending a short file
+            try (Stream<Employee> employees = DBHelper.stream(Employee.class)) {
+                employees.forEach(employee -> writer.println(String.join(",",
+                        String.valueOf(employee.getId()),
+                        employee.getClass().getSimpleName(),
+                        csvField(employee.getFirstName()),
+                        csvField(employee.getLastName()),
+                        String.valueOf(employee.getSalary()),
+                        csvField(employee.getDepartment().getTitle()))));
+            }
+            writer.flush();
+            return "";
+        });
     }
 
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
 }
@@ -98,18 +98,20 @@ public class EngineersController {
         post ("/engineers/:id", (req, res) -> {
             String strId = req.params(":id");
             Integer intId = Integer.parseInt(strId);
-            Engineer engineer = DBHelper.find(intId, Engineer.class);
             int departmentId = Integer.parseInt(req.queryParams("department"));
-            Department department = DBHelper.find(departmentId, Department.class);
             String firstName = req.queryParams("firstName");
             String lastName = req.queryParams("lastName");
             int salary = Integer.parseInt(req.queryParams("salary"));
 
-            engineer.setFirstName(firstName);
-            engineer.setLastName(lastName);
-            engineer.setDepartment(department);
-            engineer.setSalary(salary);
-            DBHelper.update(engineer);
+            DBHelper.inTransaction(session -> {
+                Engineer engineer = (Engineer) session.get(Engineer.class, intId);
+                Department department = (Department) session.load(Department.class, departmentId);
+                engineer.setFirstName(firstName);
+                engineer.setLastName(lastName);
+                engineer.setDepartment(department);
+                engineer.setSalary(salary);
+                return engineer;
+            });
             res.redirect("/engineers");
             return null;
 
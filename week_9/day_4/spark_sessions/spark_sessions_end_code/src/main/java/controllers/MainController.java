@@ -1,12 +1,16 @@
 package controllers;
 
+import db.DBHelper;
+import db.HibernateUtil;
 import db.Seeds;
 import spark.ModelAndView;
+import spark.Session;
 import spark.template.velocity.VelocityTemplateEngine;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static spark.Spark.after;
 import static spark.Spark.before;
 import static spark.Spark.get;
 import static spark.Spark.halt;
@@ -14,12 +18,29 @@ import static spark.SparkBase.staticFileLocation;
 
 public class MainController {
 
+    // How long after a write a user's reads keep going to the primary, to cover replica lag
+    private static final long READ_YOUR_WRITES_MILLIS = 5000;
+
     public static void main(String[] args) {
 
         Seeds.seedData();
 
         staticFileLocation("/public");
 
+        before((req, res) -> {
+            // Only look at an existing session, so anonymous reads don't each create one
+            Session session = req.session(false);
+            Long lastWrite = session == null ? null : session.attribute("lastWrite");
+            boolean recentWrite = lastWrite != null && System.currentTimeMillis() - lastWrite < READ_YOUR_WRITES_MILLIS;
+            DBHelper.beginRequest(recentWrite);
+        });
+
+        after((req, res) -> {
+            if (DBHelper.wroteInRequest()) {
+                req.session().attribute("lastWrite", System.currentTimeMillis());
+            }
+        });
+
         LoginController loginController = new LoginController();
         EmployeesController employeesController = new EmployeesController();
         DepartmentsController departmentsController = new DepartmentsController();
@@ -34,5 +55,17 @@ public class MainController {
 
             return new ModelAndView(model, "templates/layout.vtl");
         }, new VelocityTemplateEngine());
+
+        get("/cache", (req, res) -> {
+            res.type("text/plain");
+            if (!HibernateUtil.getSessionFactory().getStatistics().isStatisticsEnabled()) {
+                return "Statistics are off, start the app with -Dhibernate.generate_statistics=true to see cache hit ratios";
+            }
+            StringBuilder report = new StringBuilder();
+            for (Map.Entry<String, Double> entry : DBHelper.getQueryCacheHitRatios().entrySet()) {
+                report.append(String.format("%s: %.1f%%%n", entry.getKey(), entry.getValue() * 100));
+            }
+            return report.toString();
+        });
     }
 }
@@ -98,20 +98,22 @@ public class ManagersController {
         post ("/managers/:id", (req, res) -> {
             String strId = req.params(":id");
             Integer intId = Integer.parseInt(strId);
-            Manager manager = DBHelper.find(intId, Manager.class);
             int departmentId = Integer.parseInt(req.queryParams("department"));
-            Department department = DBHelper.find(departmentId, Department.class);
             String firstName = req.queryParams("firstName");
             String lastName = req.queryParams("lastName");
             int salary = Integer.parseInt(req.queryParams("salary"));
             double budget = Double.parseDouble(req.queryParams("budget"));
 
-            manager.setFirstName(firstName);
-            manager.setLastName(lastName);
-            manager.setDepartment(department);
-            manager.setSalary(salary);
-            manager.setBudget(budget);
-            DBHelper.update(manager);
+            DBHelper.inTransaction(session -> {
+                Manager manager = (Manager) session.get(Manager.class, intId);
+                Department department = (Department) session.load(Department.class, departmentId);
+                manager.setFirstName(firstName);
+                manager.setLastName(lastName);
+                manager.setDepartment(department);
+                manager.setSalary(salary);
+                manager.setBudget(budget);
+                return manager;
+            });
             res.redirect("/managers");
             return null;
 
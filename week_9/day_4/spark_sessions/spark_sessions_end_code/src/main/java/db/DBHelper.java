@@ -6,20 +6,70 @@ import models.Engineer;
 import models.Manager;
 import org.hibernate.Criteria;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DBHelper {
 
     private static Transaction transaction;
     private static Session session;
+    private static final String QUERY_REGION_PREFIX = "query.";
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final ThreadLocal<Boolean> readFromPrimary = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> wroteInRequest = ThreadLocal.withInitial(() -> false);
+
+    public static void beginRequest(boolean stickToPrimary) {
+        readFromPrimary.set(stickToPrimary);
+        wroteInRequest.set(false);
+    }
+
+    public static boolean wroteInRequest() {
+        return wroteInRequest.get();
+    }
+
+    private static Session openWriteSession() {
+        // Once this request has written, read it back from the primary rather than a lagging replica
+        readFromPrimary.set(true);
+        wroteInRequest.set(true);
+        return HibernateUtil.getSessionFactory().openSession();
+    }
+
+    private static StatelessSession openStatelessReadSession() {
+        if (readFromPrimary.get()) {
+            return HibernateUtil.getSessionFactory().openStatelessSession();
+        }
+        return HibernateUtil.getReadSessionFactory().openStatelessSession();
+    }
+
+    private static Session openReadSession() {
+        if (readFromPrimary.get()) {
+            return HibernateUtil.getSessionFactory().openSession();
+        }
+        return HibernateUtil.getReadSessionFactory().openSession();
+    }
 
     public static void save(Object object) {
 
-        session = HibernateUtil.getSessionFactory().openSession();
+        session = openWriteSession();
         try {
             transaction = session.beginTransaction();
             session.save(object);
@@ -32,8 +82,25 @@ public class DBHelper {
         }
     }
 
+    public static <T> T inTransaction(Function<Session, T> work){
+        session = openWriteSession();
+        T result = null;
+        try {
+            transaction = session.beginTransaction();
+            result = work.apply(session);
+            transaction.commit();
+        } catch (RuntimeException e) {
+            // Whatever the work throws, Hibernate's or not, the transaction mustn't be left open
+            transaction.rollback();
+            throw e;
+        } finally {
+            session.close();
+        }
+        return result;
+    }
+
     public static <T> void deleteAll(Class classType){
-        session = HibernateUtil.getSessionFactory().openSession();
+        session = openWriteSession();
         try {
             transaction = session.beginTransaction();
             Criteria cr = session.createCriteria(classType);
@@ -50,7 +117,7 @@ public class DBHelper {
     }
 
     public static void update(Object object){
-        session = HibernateUtil.getSessionFactory().openSession();
+        session = openWriteSession();
         try {
             transaction = session.beginTransaction();
             session.update(object);
@@ -64,7 +131,7 @@ public class DBHelper {
     }
 
     public static void delete(Object object){
-        session = HibernateUtil.getSessionFactory().openSession();
+        session = openWriteSession();
         try {
             transaction = session.beginTransaction();
             session.delete(object);
@@ -78,11 +145,13 @@ public class DBHelper {
     }
 
     public static <T> List<T> getAll(Class classType){
-        session = HibernateUtil.getSessionFactory().openSession();
+        session = openReadSession();
         List<T> results = null;
         try {
             transaction = session.beginTransaction();
             Criteria cr = session.createCriteria(classType);
+            cr.setCacheable(true);
+            cr.setCacheRegion(QUERY_REGION_PREFIX + "getAll." + classType.getSimpleName());
             results = cr.list();
             transaction.commit();
         } catch (HibernateException e) {
@@ -94,13 +163,57 @@ public class DBHelper {
         return results;
     }
 
+    public static <T> Stream<T> stream(Class<T> classType){
+        // A stateless session keeps no persistence context, so rows can be dropped as soon as they are consumed.
+        // The stream must be closed to release the session, e.g. with try-with-resources.
+        StatelessSession statelessSession = openStatelessReadSession();
+        try {
+            Transaction streamTransaction = statelessSession.beginTransaction();
+            ScrollableResults results = statelessSession.createCriteria(classType)
+                    .setFetchSize(STREAM_FETCH_SIZE)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+
+            Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    if (!results.next()) {
+                        return false;
+                    }
+                    action.accept(classType.cast(results.get(0)));
+                    return true;
+                }
+            };
+
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    results.close();
+                    streamTransaction.commit();
+                } finally {
+                    statelessSession.close();
+                }
+            });
+        } catch (HibernateException e) {
+            // Roll back before closing, or the pooled connection is handed out again inside the failed transaction
+            try {
+                if (statelessSession.getTransaction().isActive()) {
+                    statelessSession.getTransaction().rollback();
+                }
+            } finally {
+                statelessSession.close();
+            }
+            throw e;
+        }
+    }
+
     public static <T> T find(int id, Class classType){
-        session = HibernateUtil.getSessionFactory().openSession();
+        session = openReadSession();
         T result = null;
         try {
             transaction = session.beginTransaction();
             Criteria cr = session.createCriteria(classType);
             cr.add(Restrictions.eq("id", id));
+            cr.setCacheable(true);
+            cr.setCacheRegion(QUERY_REGION_PREFIX + "find." + classType.getSimpleName());
             result = (T)cr.uniqueResult();
             transaction.commit();
         } catch (HibernateException e) {
@@ -114,12 +227,14 @@ public class DBHelper {
     }
 
     public static Manager findManagerForDept(Department department){
-        session = HibernateUtil.getSessionFactory().openSession();
+        session = openReadSession();
         Manager manager = null;
         try {
             transaction = session.beginTransaction();
             Criteria cr = session.createCriteria(Manager.class);
             cr.add(Restrictions.eq("department", department));
+            cr.setCacheable(true);
+            cr.setCacheRegion(QUERY_REGION_PREFIX + "findManagerForDept");
             manager = (Manager)cr.uniqueResult();
 
             transaction.commit();
@@ -133,12 +248,14 @@ public class DBHelper {
     }
 
     public static List<Engineer> findEngineersForDept(Department department){
-        session = HibernateUtil.getSessionFactory().openSession();
+        session = openReadSession();
         List<Engineer> engineers = null;
         try {
             transaction = session.beginTransaction();
             Criteria cr = session.createCriteria(Engineer.class);
             cr.add(Restrictions.eq("department", department));
+            cr.setCacheable(true);
+            cr.setCacheRegion(QUERY_REGION_PREFIX + "findEngineersForDept");
             engineers = cr.list();
 
             transaction.commit();
@@ -150,4 +267,35 @@ public class DBHelper {
         }
         return engineers;
     }
+
+    public static Map<String, Double> getQueryCacheHitRatios(){
+        // Reads and writes may use different SessionFactories, each keeping its own statistics
+        Set<SessionFactory> factories = new LinkedHashSet<>();
+        factories.add(HibernateUtil.getSessionFactory());
+        factories.add(HibernateUtil.getReadSessionFactory());
+
+        Map<String, long[]> counts = new TreeMap<>();
+        for (SessionFactory factory : factories) {
+            Statistics statistics = factory.getStatistics();
+            if (!statistics.isStatisticsEnabled()) {
+                continue;
+            }
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                if (!region.startsWith(QUERY_REGION_PREFIX)) {
+                    continue;
+                }
+                SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(region);
+                long[] hitsAndMisses = counts.computeIfAbsent(region.substring(QUERY_REGION_PREFIX.length()), key -> new long[2]);
+                hitsAndMisses[0] += regionStatistics.getHitCount();
+                hitsAndMisses[1] += regionStatistics.getMissCount();
+            }
+        }
+
+        Map<String, Double> ratios = new TreeMap<>();
+        for (Map.Entry<String, long[]> entry : counts.entrySet()) {
+            long lookups = entry.getValue()[0] + entry.getValue()[1];
+            ratios.put(entry.getKey(), lookups == 0 ? 0.0 : (double) entry.getValue()[0] / lookups);
+        }
+        return ratios;
+    }
 }
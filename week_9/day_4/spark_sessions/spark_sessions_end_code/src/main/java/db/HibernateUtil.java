@@ -5,6 +5,7 @@ import org.hibernate.cfg.Configuration;
 public class HibernateUtil {
 
     private static final SessionFactory sessionFactory = buildSessionFactory();
+    private static final SessionFactory readSessionFactory = buildReadSessionFactory();
 
     private static SessionFactory buildSessionFactory() {
         try {
@@ -18,7 +19,45 @@ public class HibernateUtil {
         }
     }
 
+    private static SessionFactory buildReadSessionFactory() {
+        // Point reads at a replica with e.g. -Dhibernate.read.connection.url=jdbc:postgresql://localhost:5433/employeedb
+        // If no replica is configured, reads share the primary SessionFactory
+        String url = System.getProperty("hibernate.read.connection.url", System.getenv("READ_DATABASE_URL"));
+        if (url == null || url.isEmpty()) {
+            return sessionFactory;
+        }
+        try {
+            Configuration configuration = new Configuration().configure();
+            configuration.setProperty("hibernate.connection.url", url);
+            // The replica's schema is managed by the primary, never recreate it from here
+            configuration.setProperty("hibernate.hbm2ddl.auto", "none");
+            // Passed through to the driver, which opens every replica connection read-only, so a stray write fails
+            configuration.setProperty("hibernate.connection.readOnly", "true");
+            // A lagging replica would put stale rows and results into the cache the primary also reads from,
+            // where they'd outlive the read-your-writes pin, so replica reads are never cached
+            configuration.setProperty("hibernate.cache.use_second_level_cache", "false");
+            configuration.setProperty("hibernate.cache.use_query_cache", "false");
+            String username = System.getProperty("hibernate.read.connection.username");
+            if (username != null) {
+                configuration.setProperty("hibernate.connection.username", username);
+            }
+            String password = System.getProperty("hibernate.read.connection.password");
+            if (password != null) {
+                configuration.setProperty("hibernate.connection.password", password);
+            }
+            return configuration.buildSessionFactory();
+        }
+        catch (Throwable ex) {
+            System.err.println("Initial read SessionFactory creation failed." + ex);
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
     public static SessionFactory getSessionFactory() {
         return sessionFactory;
     }
-}
\ No newline at end of file
+
+    public static SessionFactory getReadSessionFactory() {
+        return readSessionFactory;
+    }
+}
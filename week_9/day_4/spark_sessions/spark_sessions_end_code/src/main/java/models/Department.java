@@ -1,10 +1,14 @@
 package models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.Set;
 
 @Entity
 @Table(name="departments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Department {
 
 
@@ -20,7 +24,8 @@ public class Department {
     }
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "department_seq", allocationSize = 50)
     @Column(name = "id")
     public int getId() {
         return id;
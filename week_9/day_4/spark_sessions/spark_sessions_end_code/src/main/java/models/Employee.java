@@ -1,9 +1,14 @@
 package models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 
 @Entity
+@org.hibernate.annotations.Entity(dynamicUpdate = true)
 @Inheritance(strategy = InheritanceType.JOINED)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public abstract class Employee {
 
     private int id;
@@ -23,7 +28,8 @@ public abstract class Employee {
     }
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     @Column(name = "id")
     public int getId() {
         return id;
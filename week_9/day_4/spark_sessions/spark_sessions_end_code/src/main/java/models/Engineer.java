@@ -5,6 +5,7 @@ import javax.persistence.Table;
 
 
 @Entity
+@org.hibernate.annotations.Entity(dynamicUpdate = true)
 @Table(name="engineers")
 public class Engineer extends Employee {
 
@@ -6,6 +6,7 @@ import javax.persistence.Table;
 
 
 @Entity
+@org.hibernate.annotations.Entity(dynamicUpdate = true)
 @Table(name="managers")
 public class Manager extends Employee {
 
@@ -0,0 +1,11 @@
+-- Moves an existing database from per-row id generation to the pooled sequences
+-- declared with @SequenceGenerator(allocationSize = 50).
+-- Each sequence is placed past the current max id, so the first block Hibernate
+-- reserves cannot collide with rows that are already there.
+-- Run once against the database before starting the app with the new mappings.
+
+CREATE SEQUENCE employee_seq INCREMENT BY 50;
+SELECT setval('employee_seq', COALESCE((SELECT MAX(id) FROM employee), 0) + 51, false);
+
+CREATE SEQUENCE department_seq INCREMENT BY 50;
+SELECT setval('department_seq', COALESCE((SELECT MAX(id) FROM departments), 0) + 51, false);
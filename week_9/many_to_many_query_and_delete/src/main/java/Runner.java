@@ -2,14 +2,19 @@ import db.DBHelper;
 import db.DBHelper;
 import db.DBHelper;
 import db.DBHelper;
+import db.EnrolmentIndex;
+import db.FetchProfile;
+import db.SearchResult;
 import models.Course;
 import models.Instructor;
 import models.Lesson;
 import models.Student;
 
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.Map;
 
 public class Runner {
 
@@ -19,7 +24,7 @@ public class Runner {
 //        DBHelper.deleteAll(Instructor.class);
 //        DBHelper.deleteAll(Lesson.class);
 //        DBHelper.deleteAll(Course.class);
-        Course course1 = new Course("Electrical Engineering", "BEng", new GregorianCalendar(2018,2,12), new GregorianCalendar(19,5,2018));
+        Course course1 = new Course("Electrical Engineering", "BEng", LocalDate.of(2018, 3, 12), LocalDate.of(2018, 6, 19));
         DBHelper.save(course1);
 
         Student student1 = new Student("Bart Simpson", 12, 000001, course1);
@@ -50,9 +55,20 @@ public class Runner {
         Instructor foundInstructor = DBHelper.find(Instructor.class, instructor1.getId());
         Student foundStudent = DBHelper.find(Student.class, student1.getId());
         Lesson foundLesson = DBHelper.find(Lesson.class, lesson1.getId());
+        Course courseWithTimetable = DBHelper.find(Course.class, course1.getId(), FetchProfile.COURSE_WITH_LESSONS_AND_INSTRUCTORS);
 
         List<Instructor> instructorList = DBHelper.getCourseInstructors(myCourse);
         List<Lesson> studentsLesson = DBHelper.getStudentLessons(foundStudent);
+
+        Map<Integer, List<Lesson>> timetable = DBHelper.getStudentsLessons(Arrays.asList(student1, student2));
+        Map<Integer, List<Instructor>> courseInstructors = DBHelper.getCoursesInstructors(Arrays.asList(course1));
+
+        EnrolmentIndex enrolments = DBHelper.getEnrolmentIndex();
+        List<Integer> inBothLessons = enrolments.getStudentsInAllLessons(lesson1.getId(), lesson2.getId());
+        Map<Integer, Integer> headcounts = enrolments.headcounts();
+
+        DBHelper.rebuildSearchIndex();
+        List<SearchResult> simpsons = DBHelper.search("simp", 10);
         }
 
 
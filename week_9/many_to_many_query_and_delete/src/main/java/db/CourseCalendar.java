@@ -0,0 +1,85 @@
+package db;
+
+import models.Course;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Read-only interval tree over course dates, for calendar views that ask the same range questions repeatedly.
+// Courses are sorted by start day and the sorted array is treated as a balanced tree (each range's middle
+// element is its root). Every root records the latest end day in its subtree, so a query skips whole
+// subtrees that finish before the range starts, and stops going right once courses start after it ends.
+// Answers take O(log n + k) for k matching courses.
+public class CourseCalendar {
+
+    private final Course[] courses;
+    private final long[] startDays;
+    private final long[] endDays;
+    private final long[] maxEndDays;
+
+    public CourseCalendar(List<Course> courses) {
+        List<Course> dated = new ArrayList<Course>();
+        for (Course course : courses) {
+            if (course.getStartDate() != null && course.getEndDate() != null) {
+                dated.add(course);
+            }
+        }
+        this.courses = dated.toArray(new Course[dated.size()]);
+        Arrays.sort(this.courses, Comparator.comparing(Course::getStartDate));
+
+        startDays = new long[this.courses.length];
+        endDays = new long[this.courses.length];
+        maxEndDays = new long[this.courses.length];
+        for (int i = 0; i < this.courses.length; i++) {
+            startDays[i] = this.courses[i].getStartDate().toEpochDay();
+            endDays[i] = this.courses[i].getEndDate().toEpochDay();
+        }
+        buildMaxEndDays(0, this.courses.length - 1);
+    }
+
+    public List<Course> getActiveOn(LocalDate date) {
+        return getBetween(date, date);
+    }
+
+    // Courses running on any day from 'from' to 'to', inclusive
+    public List<Course> getBetween(LocalDate from, LocalDate to) {
+        List<Course> results = new ArrayList<Course>();
+        collect(0, courses.length - 1, from.toEpochDay(), to.toEpochDay(), results);
+        return results;
+    }
+
+    public int size() {
+        return courses.length;
+    }
+
+    private long buildMaxEndDays(int low, int high) {
+        if (low > high) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (low + high) >>> 1;
+        long maxEnd = Math.max(endDays[mid], Math.max(buildMaxEndDays(low, mid - 1), buildMaxEndDays(mid + 1, high)));
+        maxEndDays[mid] = maxEnd;
+        return maxEnd;
+    }
+
+    private void collect(int low, int high, long from, long to, List<Course> results) {
+        if (low > high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        if (maxEndDays[mid] < from) {
+            return;
+        }
+        collect(low, mid - 1, from, to, results);
+        if (startDays[mid] > to) {
+            return;
+        }
+        if (endDays[mid] >= from) {
+            results.add(courses[mid]);
+        }
+        collect(mid + 1, high, from, to, results);
+    }
+}
@@ -5,39 +5,100 @@ import models.Instructor;
 import models.Lesson;
 import models.Student;
 import org.hibernate.Criteria;
+import org.hibernate.EntityMode;
+import org.hibernate.FetchMode;
+import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.metadata.ClassMetadata;
 
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class DBHelper {
     private static Transaction transaction;
     private static Session session;
+    private static EnrolmentIndex enrolmentIndex;
+    private static CourseCalendar courseCalendar;
+    private static LessonScheduler lessonScheduler;
+    private static SearchIndex searchIndex;
+    // Keeps each IN list well under the database's bind parameter limit
+    private static final int IN_LIST_CHUNK_SIZE = 1000;
+    private static final int ENROLMENT_BATCH_SIZE = 1000;
+    private static final int SCROLL_FETCH_SIZE = 1000;
 
-    public static void save(Object object) {
+    public static boolean save(Object object) {
 
         session = HibernateUtil.getSessionFactory().openSession();
         try {
             transaction = session.beginTransaction();
             session.saveOrUpdate(object);
             transaction.commit();
+            updateIndexesAfterSave(object);
+            return true;
         } catch (HibernateException e) {
             transaction.rollback();
             e.printStackTrace();
+            return false;
         } finally {
             session.close();
         }
     }
 
     public static void delete(Object o) {
+        if (o instanceof Course) {
+            deleteCourse((Course) o);
+            return;
+        }
         session = HibernateUtil.getSessionFactory().openSession();
         try {
             transaction = session.beginTransaction();
             session.delete(o);
             transaction.commit();
+            updateIndexesAfterDelete(o);
+        } catch (HibernateException e) {
+            transaction.rollback();
+            e.printStackTrace();
+        } finally {
+            session.close();
+        }
+    }
+
+    // Removes a course with its lessons, students and their join table rows in a fixed number of
+    // set-based statements, rather than letting CascadeType.REMOVE load and delete them one by one
+    public static void deleteCourse(Course course) {
+        session = HibernateUtil.getSessionFactory().openSession();
+        try {
+            transaction = session.beginTransaction();
+            int courseId = course.getId();
+            session.createSQLQuery("DELETE FROM student_lesson WHERE lesson_id IN (SELECT id FROM lessons WHERE course_id = :courseId)" +
+                    " OR student_id IN (SELECT id FROM students WHERE course_id = :courseId)")
+                    .setInteger("courseId", courseId).executeUpdate();
+            session.createSQLQuery("DELETE FROM instructor_course WHERE course_id = :courseId")
+                    .setInteger("courseId", courseId).executeUpdate();
+            session.createSQLQuery("DELETE FROM lessons WHERE course_id = :courseId")
+                    .setInteger("courseId", courseId).executeUpdate();
+            session.createSQLQuery("DELETE FROM students WHERE course_id = :courseId")
+                    .setInteger("courseId", courseId).executeUpdate();
+            session.createSQLQuery("DELETE FROM courses WHERE id = :courseId")
+                    .setInteger("courseId", courseId).executeUpdate();
+            transaction.commit();
+            updateIndexesAfterDelete(course);
         } catch (HibernateException e) {
             transaction.rollback();
             e.printStackTrace();
@@ -90,6 +151,58 @@ public class DBHelper {
 
     }
 
+    public static <T> T find(Class classType, int id, FetchProfile profile) {
+        if (!profile.getEntityType().equals(classType)) {
+            throw new IllegalArgumentException(profile + " cannot be used to load " + classType.getSimpleName());
+        }
+        String[] associations = profile.getAssociations();
+        T result = null;
+        session = HibernateUtil.getSessionFactory().openSession();
+        try {
+            transaction = session.beginTransaction();
+            Criteria cr = session.createCriteria(classType);
+            cr.add(Restrictions.idEq(id));
+            cr.setFetchMode(associations[0], FetchMode.JOIN);
+            cr.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY);
+            result = (T) cr.uniqueResult();
+            if (result != null) {
+                ClassMetadata metadata = HibernateUtil.getSessionFactory().getClassMetadata(classType);
+                for (int i = 1; i < associations.length; i++) {
+                    Hibernate.initialize(metadata.getPropertyValue(result, associations[i], EntityMode.POJO));
+                }
+            }
+            transaction.commit();
+        } catch (HibernateException e) {
+            transaction.rollback();
+            e.printStackTrace();
+        } finally {
+            session.close();
+        }
+        return result;
+    }
+
+    public static List<Course> findCoursesActiveOn(LocalDate date) {
+        return findCoursesBetween(date, date);
+    }
+
+    // Courses running on any day from 'from' to 'to', inclusive, answered from courses_date_range_idx
+    public static List<Course> findCoursesBetween(LocalDate from, LocalDate to) {
+        session = HibernateUtil.getSessionFactory().openSession();
+        Criteria cr = session.createCriteria(Course.class);
+        cr.add(Restrictions.le("startDate", to));
+        cr.add(Restrictions.ge("endDate", from));
+        cr.addOrder(Order.asc("startDate"));
+        return getList(cr);
+    }
+
+    // In-memory calendar for hot date lookups, rebuilt from the database after any course is saved or deleted
+    public static synchronized CourseCalendar getCourseCalendar() {
+        if (courseCalendar == null) {
+            courseCalendar = new CourseCalendar(DBHelper.<Course>getAll(Course.class));
+        }
+        return courseCalendar;
+    }
+
     public static List<Instructor> getCourseInstructors(Course course) {
         List<Course> courses = new ArrayList<Course>();
         courses.add(course);
@@ -110,9 +223,264 @@ public class DBHelper {
         return getList(cr);
     }
 
+    public static Map<Integer, List<Instructor>> getCoursesInstructors(Collection<Course> courses) {
+        List<Integer> courseIds = new ArrayList<Integer>();
+        for (Course course : courses) {
+            courseIds.add(course.getId());
+        }
+        return getGroupedByOwner(Instructor.class, "courses", courseIds);
+    }
+
+    public static Map<Integer, List<Lesson>> getStudentsLessons(Collection<Student> students) {
+        List<Integer> studentIds = new ArrayList<Integer>();
+        for (Student student : students) {
+            studentIds.add(student.getId());
+        }
+        return getGroupedByOwner(Lesson.class, "students", studentIds);
+    }
+
+    private static <T> Map<Integer, List<T>> getGroupedByOwner(Class classType, String association, List<Integer> ownerIds) {
+        Map<Integer, List<T>> results = new LinkedHashMap<Integer, List<T>>();
+        for (Integer ownerId : ownerIds) {
+            results.put(ownerId, new ArrayList<T>());
+        }
+        session = HibernateUtil.getSessionFactory().openSession();
+        try {
+            transaction = session.beginTransaction();
+            for (int start = 0; start < ownerIds.size(); start += IN_LIST_CHUNK_SIZE) {
+                List<Integer> chunk = ownerIds.subList(start, Math.min(start + IN_LIST_CHUNK_SIZE, ownerIds.size()));
+                Criteria cr = session.createCriteria(classType);
+                cr.createAlias(association, "owner");
+                cr.add(Restrictions.in("owner.id", chunk));
+                cr.setResultTransformer(Criteria.ALIAS_TO_ENTITY_MAP);
+                List<Map<String, Object>> rows = cr.list();
+                for (Map<String, Object> row : rows) {
+                    Integer ownerId = (Integer) session.getIdentifier(row.get("owner"));
+                    results.get(ownerId).add((T) row.get(Criteria.ROOT_ALIAS));
+                }
+            }
+            transaction.commit();
+        } catch (HibernateException e) {
+            transaction.rollback();
+            e.printStackTrace();
+        } finally {
+            session.close();
+        }
+        return results;
+    }
+
     public static void addStudentToLesson(Student student, Lesson lesson) {
         student.addLesson(lesson);
-        save(student);
+        if (!save(student)) {
+            return;
+        }
+        synchronized (DBHelper.class) {
+            if (enrolmentIndex != null) {
+                enrolmentIndex.enrol(student.getId(), lesson.getId());
+            }
+        }
+    }
+
+    // Inserts straight into student_lesson with batched JDBC, without loading either side's collections.
+    // Pairs repeated in the input or already in the table are skipped. Returns the number of rows inserted.
+    public static int addStudentsToLessons(Collection<Enrolment> enrolments) {
+        List<Enrolment> toInsert = new ArrayList<Enrolment>();
+        Set<Long> seen = new HashSet<Long>();
+        EnrolmentIndex index;
+        synchronized (DBHelper.class) {
+            index = enrolmentIndex;
+        }
+        for (Enrolment enrolment : enrolments) {
+            long key = ((long) enrolment.getStudentId() << 32) | (enrolment.getLessonId() & 0xffffffffL);
+            if (!seen.add(key)) {
+                continue;
+            }
+            if (index != null && index.isEnrolled(enrolment.getStudentId(), enrolment.getLessonId())) {
+                continue;
+            }
+            toInsert.add(enrolment);
+        }
+
+        final int[] inserted = {0};
+        session = HibernateUtil.getSessionFactory().openSession();
+        try {
+            transaction = session.beginTransaction();
+            session.doWork(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO student_lesson (student_id, lesson_id) SELECT ?, ?" +
+                        " WHERE NOT EXISTS (SELECT 1 FROM student_lesson WHERE student_id = ? AND lesson_id = ?)");
+                try {
+                    for (int i = 0; i < toInsert.size(); i++) {
+                        Enrolment enrolment = toInsert.get(i);
+                        statement.setInt(1, enrolment.getStudentId());
+                        statement.setInt(2, enrolment.getLessonId());
+                        statement.setInt(3, enrolment.getStudentId());
+                        statement.setInt(4, enrolment.getLessonId());
+                        statement.addBatch();
+                        if ((i + 1) % ENROLMENT_BATCH_SIZE == 0 || i == toInsert.size() - 1) {
+                            for (int count : statement.executeBatch()) {
+                                if (count > 0) {
+                                    inserted[0] += count;
+                                }
+                            }
+                        }
+                    }
+                } finally {
+                    statement.close();
+                }
+            });
+            transaction.commit();
+        } catch (HibernateException e) {
+            transaction.rollback();
+            e.printStackTrace();
+            return 0;
+        } finally {
+            session.close();
+        }
+
+        synchronized (DBHelper.class) {
+            if (enrolmentIndex != null) {
+                for (Enrolment enrolment : toInsert) {
+                    enrolmentIndex.enrol(enrolment.getStudentId(), enrolment.getLessonId());
+                }
+            }
+        }
+        return inserted[0];
+    }
+
+    // Saves the lesson only if its classroom and instructor are free for its time slot, otherwise returns the clashes.
+    // An empty list means the lesson was saved; if the save itself fails an IllegalStateException is thrown.
+    public static synchronized List<ScheduleConflict> scheduleLesson(Lesson lesson) {
+        LessonScheduler scheduler = getLessonScheduler();
+        List<ScheduleConflict> conflicts = scheduler.findConflicts(lesson);
+        if (conflicts.isEmpty() && !save(lesson)) {
+            throw new IllegalStateException("Lesson " + lesson.getTitle() + " could not be saved");
+        }
+        return conflicts;
+    }
+
+    public static synchronized LessonScheduler getLessonScheduler() {
+        if (lessonScheduler == null) {
+            LessonScheduler scheduler = new LessonScheduler();
+            for (Lesson lesson : DBHelper.<Lesson>getAll(Lesson.class)) {
+                bookSaved(scheduler, lesson);
+            }
+            lessonScheduler = scheduler;
+        }
+        return lessonScheduler;
+    }
+
+    // Lessons already in the database may clash, since plain saves aren't checked. The first one booked keeps
+    // the slot; the others are left out of the scheduler and reported, as LessonScheduler.validate would report them.
+    private static void bookSaved(LessonScheduler scheduler, Lesson lesson) {
+        for (ScheduleConflict conflict : scheduler.book(lesson)) {
+            System.err.println("Lesson " + lesson.getId() + " left out of the scheduler: " + conflict);
+        }
+    }
+
+    public static List<SearchResult> search(String query, int limit) {
+        return getSearchIndex().search(query, limit);
+    }
+
+    public static synchronized SearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = buildSearchIndex();
+        }
+        return searchIndex;
+    }
+
+    public static synchronized void rebuildSearchIndex() {
+        searchIndex = buildSearchIndex();
+    }
+
+    // Each searchable table is scrolled through its own stateless session, all at the same time,
+    // so entities are indexed as they are read instead of being collected into lists first
+    private static SearchIndex buildSearchIndex() {
+        SearchIndex index = new SearchIndex();
+        Arrays.asList(Student.class, Course.class, Instructor.class).parallelStream().forEach(classType -> {
+            StatelessSession statelessSession = HibernateUtil.getSessionFactory().openStatelessSession();
+            try {
+                ScrollableResults results = statelessSession.createCriteria(classType)
+                        .setFetchSize(SCROLL_FETCH_SIZE)
+                        .scroll(ScrollMode.FORWARD_ONLY);
+                while (results.next()) {
+                    index.add(results.get(0));
+                }
+                results.close();
+            } catch (HibernateException e) {
+                e.printStackTrace();
+            } finally {
+                statelessSession.close();
+            }
+        });
+        return index;
+    }
+
+    public static synchronized EnrolmentIndex getEnrolmentIndex() {
+        if (enrolmentIndex == null) {
+            enrolmentIndex = buildEnrolmentIndex();
+        }
+        return enrolmentIndex;
+    }
+
+    public static synchronized void rebuildEnrolmentIndex() {
+        enrolmentIndex = buildEnrolmentIndex();
+    }
+
+    private static EnrolmentIndex buildEnrolmentIndex() {
+        EnrolmentIndex index = new EnrolmentIndex();
+        session = HibernateUtil.getSessionFactory().openSession();
+        Criteria cr = session.createCriteria(Student.class);
+        cr.createAlias("lessons", "lesson");
+        cr.setProjection(Projections.projectionList()
+                .add(Projections.property("id"))
+                .add(Projections.property("lesson.id")));
+        List<Object[]> enrolments = getList(cr);
+        for (Object[] enrolment : enrolments) {
+            index.enrol((Integer) enrolment[0], (Integer) enrolment[1]);
+        }
+        return index;
+    }
+
+    private static synchronized void updateIndexesAfterSave(Object saved) {
+        if (searchIndex != null) {
+            searchIndex.add(saved);
+        }
+        if (saved instanceof Course) {
+            courseCalendar = null;
+        } else if (saved instanceof Lesson && lessonScheduler != null) {
+            // Plain saves aren't checked for clashes; a lesson moved onto a booked slot drops out until the next rebuild
+            lessonScheduler.remove(((Lesson) saved).getId());
+            bookSaved(lessonScheduler, (Lesson) saved);
+        }
+    }
+
+    private static synchronized void updateIndexesAfterDelete(Object deleted) {
+        if (deleted instanceof Course) {
+            // Deleting a course also deletes its students
+            searchIndex = null;
+        } else if (searchIndex != null) {
+            searchIndex.remove(deleted);
+        }
+        if (deleted instanceof Course) {
+            courseCalendar = null;
+        }
+        if (deleted instanceof Lesson && lessonScheduler != null) {
+            lessonScheduler.remove(((Lesson) deleted).getId());
+        } else if ((deleted instanceof Course || deleted instanceof Instructor) && lessonScheduler != null) {
+            lessonScheduler = null;
+        }
+        if (enrolmentIndex == null) {
+            return;
+        }
+        if (deleted instanceof Student) {
+            enrolmentIndex.removeStudent(((Student) deleted).getId());
+        } else if (deleted instanceof Lesson) {
+            enrolmentIndex.removeLesson(((Lesson) deleted).getId());
+        } else if (deleted instanceof Course || deleted instanceof Instructor) {
+            // Cascades remove students and lessons the caller never loaded, so start again from the database
+            enrolmentIndex = null;
+        }
     }
 
     public static void addInstructorToCourse(Course course, Instructor instructor) {
@@ -0,0 +1,28 @@
+package db;
+
+import models.Lesson;
+import models.Student;
+
+// A (student, lesson) pair for bulk enrolment, identified by id so neither side needs loading
+public class Enrolment {
+
+    private int studentId;
+    private int lessonId;
+
+    public Enrolment(int studentId, int lessonId) {
+        this.studentId = studentId;
+        this.lessonId = lessonId;
+    }
+
+    public Enrolment(Student student, Lesson lesson) {
+        this(student.getId(), lesson.getId());
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public int getLessonId() {
+        return lessonId;
+    }
+}
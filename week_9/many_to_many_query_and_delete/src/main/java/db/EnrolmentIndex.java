@@ -0,0 +1,169 @@
+package db;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory copy of the student_lesson join table.
+// Students and lessons are given dense ordinals in the order they are first seen, and each
+// lesson's students (and each student's lessons) are a CompressedBitmap of those ordinals.
+// A lesson with a handful of students costs a few bytes for them however many students there
+// are, rather than the (students / 8) bytes of a plain bit set, so the whole index grows with
+// the number of enrolments instead of lessons x students.
+public class EnrolmentIndex {
+
+    private final Map<Integer, Integer> studentOrdinals = new HashMap<Integer, Integer>();
+    private final Map<Integer, Integer> lessonOrdinals = new HashMap<Integer, Integer>();
+    private final List<Integer> studentIds = new ArrayList<Integer>();
+    private final List<Integer> lessonIds = new ArrayList<Integer>();
+    private final List<CompressedBitmap> studentsByLesson = new ArrayList<CompressedBitmap>();
+    private final List<CompressedBitmap> lessonsByStudent = new ArrayList<CompressedBitmap>();
+
+    public synchronized void enrol(int studentId, int lessonId) {
+        int student = studentOrdinal(studentId);
+        int lesson = lessonOrdinal(lessonId);
+        studentsByLesson.get(lesson).add(student);
+        lessonsByStudent.get(student).add(lesson);
+    }
+
+    public synchronized void unenrol(int studentId, int lessonId) {
+        Integer student = studentOrdinals.get(studentId);
+        Integer lesson = lessonOrdinals.get(lessonId);
+        if (student == null || lesson == null) {
+            return;
+        }
+        studentsByLesson.get(lesson).remove(student);
+        lessonsByStudent.get(student).remove(lesson);
+    }
+
+    // The ordinal is kept so it is never reused; only the membership bits are cleared
+    public synchronized void removeStudent(int studentId) {
+        Integer student = studentOrdinals.get(studentId);
+        if (student == null) {
+            return;
+        }
+        CompressedBitmap lessons = lessonsByStudent.get(student);
+        lessons.forEach(lesson -> studentsByLesson.get(lesson).remove(student));
+        lessons.clear();
+    }
+
+    // The ordinal isn't reused either, but the lesson is forgotten, so it no longer shows in headcounts()
+    public synchronized void removeLesson(int lessonId) {
+        Integer lesson = lessonOrdinals.remove(lessonId);
+        if (lesson == null) {
+            return;
+        }
+        CompressedBitmap students = studentsByLesson.get(lesson);
+        students.forEach(student -> lessonsByStudent.get(student).remove(lesson));
+        students.clear();
+        lessonIds.set(lesson, null);
+    }
+
+    public synchronized boolean isEnrolled(int studentId, int lessonId) {
+        Integer student = studentOrdinals.get(studentId);
+        Integer lesson = lessonOrdinals.get(lessonId);
+        return student != null && lesson != null && studentsByLesson.get(lesson).contains(student);
+    }
+
+    public synchronized int headcount(int lessonId) {
+        return studentsOf(lessonId).cardinality();
+    }
+
+    public synchronized Map<Integer, Integer> headcounts() {
+        Map<Integer, Integer> counts = new LinkedHashMap<Integer, Integer>();
+        for (int lesson = 0; lesson < lessonIds.size(); lesson++) {
+            if (lessonIds.get(lesson) != null) {
+                counts.put(lessonIds.get(lesson), studentsByLesson.get(lesson).cardinality());
+            }
+        }
+        return counts;
+    }
+
+    public synchronized List<Integer> getStudentsInLesson(int lessonId) {
+        return toStudentIds(studentsOf(lessonId));
+    }
+
+    // Students enrolled in every one of the given lessons
+    public synchronized List<Integer> getStudentsInAllLessons(int... lessonIds) {
+        if (lessonIds.length == 0) {
+            return new ArrayList<Integer>();
+        }
+        CompressedBitmap students = studentsOf(lessonIds[0]).copy();
+        for (int i = 1; i < lessonIds.length && !students.isEmpty(); i++) {
+            students.and(studentsOf(lessonIds[i]));
+        }
+        return toStudentIds(students);
+    }
+
+    // Students enrolled in at least one of the given lessons
+    public synchronized List<Integer> getStudentsInAnyLesson(int... lessonIds) {
+        CompressedBitmap students = new CompressedBitmap();
+        for (int lessonId : lessonIds) {
+            students.or(studentsOf(lessonId));
+        }
+        return toStudentIds(students);
+    }
+
+    // Students who share at least one lesson with the given student
+    public synchronized List<Integer> getClassmates(int studentId) {
+        Integer student = studentOrdinals.get(studentId);
+        CompressedBitmap classmates = new CompressedBitmap();
+        if (student == null) {
+            return toStudentIds(classmates);
+        }
+        lessonsByStudent.get(student).forEach(lesson -> classmates.or(studentsByLesson.get(lesson)));
+        classmates.remove(student);
+        return toStudentIds(classmates);
+    }
+
+    public synchronized List<Integer> getSharedLessons(int studentId, int otherStudentId) {
+        Integer student = studentOrdinals.get(studentId);
+        Integer other = studentOrdinals.get(otherStudentId);
+        List<Integer> shared = new ArrayList<Integer>();
+        if (student == null || other == null) {
+            return shared;
+        }
+        CompressedBitmap lessons = lessonsByStudent.get(student).copy();
+        lessons.and(lessonsByStudent.get(other));
+        lessons.forEach(lesson -> shared.add(lessonIds.get(lesson)));
+        return shared;
+    }
+
+    private CompressedBitmap studentsOf(int lessonId) {
+        Integer lesson = lessonOrdinals.get(lessonId);
+        if (lesson == null) {
+            return new CompressedBitmap();
+        }
+        return studentsByLesson.get(lesson);
+    }
+
+    private List<Integer> toStudentIds(CompressedBitmap students) {
+        List<Integer> ids = new ArrayList<Integer>(students.cardinality());
+        students.forEach(student -> ids.add(studentIds.get(student)));
+        return ids;
+    }
+
+    private int studentOrdinal(int studentId) {
+        Integer ordinal = studentOrdinals.get(studentId);
+        if (ordinal == null) {
+            ordinal = studentIds.size();
+            studentOrdinals.put(studentId, ordinal);
+            studentIds.add(studentId);
+            lessonsByStudent.add(new CompressedBitmap());
+        }
+        return ordinal;
+    }
+
+    private int lessonOrdinal(int lessonId) {
+        Integer ordinal = lessonOrdinals.get(lessonId);
+        if (ordinal == null) {
+            ordinal = lessonIds.size();
+            lessonOrdinals.put(lessonId, ordinal);
+            lessonIds.add(lessonId);
+            studentsByLesson.add(new CompressedBitmap());
+        }
+        return ordinal;
+    }
+}
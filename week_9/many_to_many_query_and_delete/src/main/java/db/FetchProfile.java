@@ -0,0 +1,33 @@
+package db;
+
+import models.Course;
+import models.Instructor;
+import models.Lesson;
+import models.Student;
+
+// Entity graphs that DBHelper.find can load in full before the session closes.
+// The first association is fetch-joined with the entity itself; every further association gets
+// its own select, so two collections are never joined together into a Cartesian product.
+public enum FetchProfile {
+    COURSE_WITH_LESSONS_AND_INSTRUCTORS(Course.class, "lessons", "instructors"),
+    COURSE_WITH_STUDENTS(Course.class, "students"),
+    STUDENT_WITH_LESSONS(Student.class, "lessons"),
+    LESSON_WITH_STUDENTS(Lesson.class, "students"),
+    INSTRUCTOR_WITH_COURSES_AND_LESSONS(Instructor.class, "courses", "lessons");
+
+    private final Class entityType;
+    private final String[] associations;
+
+    FetchProfile(Class entityType, String... associations) {
+        this.entityType = entityType;
+        this.associations = associations;
+    }
+
+    public Class getEntityType() {
+        return entityType;
+    }
+
+    public String[] getAssociations() {
+        return associations;
+    }
+}
@@ -0,0 +1,161 @@
+package db;
+
+import models.Lesson;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Keeps the booked time slots of every classroom and every instructor, ordered by start time.
+// Booked slots for one classroom (or instructor) never overlap, so a new slot can only clash with the
+// slot starting at or just before it and with slots starting before it ends: a floor lookup plus a
+// short range scan, O(log n) per check. Slots are half-open, so back-to-back lessons don't clash.
+// Lessons without a start and end time are not scheduled, and lessons without a classroom only book their instructor.
+public class LessonScheduler {
+
+    private final Map<String, TreeMap<LocalDateTime, Slot>> classroomSlots = new HashMap<String, TreeMap<LocalDateTime, Slot>>();
+    private final Map<Integer, TreeMap<LocalDateTime, Slot>> instructorSlots = new HashMap<Integer, TreeMap<LocalDateTime, Slot>>();
+    private final Map<Integer, Slot> lessonSlots = new HashMap<Integer, Slot>();
+
+    public synchronized List<ScheduleConflict> findConflicts(Lesson lesson) {
+        List<ScheduleConflict> conflicts = new ArrayList<ScheduleConflict>();
+        Slot slot = Slot.of(lesson);
+        if (slot == null) {
+            return conflicts;
+        }
+        addOverlaps(classroomSlots.get(slot.classRoom), slot, ScheduleConflict.Resource.CLASSROOM, slot.classRoom, conflicts);
+        addOverlaps(instructorSlots.get(slot.instructorId), slot, ScheduleConflict.Resource.INSTRUCTOR, String.valueOf(slot.instructorId), conflicts);
+        return conflicts;
+    }
+
+    // Books the lesson only if it clashes with nothing already booked, and returns the clashes otherwise.
+    // Booking a lesson that is already booked moves it to its new time and room.
+    public synchronized List<ScheduleConflict> book(Lesson lesson) {
+        List<ScheduleConflict> conflicts = findConflicts(lesson);
+        Slot slot = Slot.of(lesson);
+        if (!conflicts.isEmpty() || slot == null) {
+            return conflicts;
+        }
+        remove(lesson.getId());
+        if (slot.classRoom != null) {
+            slotsFor(classroomSlots, slot.classRoom).put(slot.start, slot);
+        }
+        slotsFor(instructorSlots, slot.instructorId).put(slot.start, slot);
+        lessonSlots.put(slot.lessonId, slot);
+        return conflicts;
+    }
+
+    public synchronized void remove(int lessonId) {
+        Slot slot = lessonSlots.remove(lessonId);
+        if (slot == null) {
+            return;
+        }
+        if (slot.classRoom != null) {
+            classroomSlots.get(slot.classRoom).remove(slot.start);
+        }
+        instructorSlots.get(slot.instructorId).remove(slot.start);
+    }
+
+    public synchronized int size() {
+        return lessonSlots.size();
+    }
+
+    // Checks a whole timetable at once and reports every overlapping pair. Each classroom and each
+    // instructor is independent, so they are swept in parallel.
+    public static List<ScheduleConflict> validate(Collection<Lesson> lessons) {
+        List<Slot> slots = new ArrayList<Slot>();
+        for (Lesson lesson : lessons) {
+            Slot slot = Slot.of(lesson);
+            if (slot != null) {
+                slots.add(slot);
+            }
+        }
+        Map<String, List<Slot>> byClassroom = slots.stream()
+                .filter(slot -> slot.classRoom != null)
+                .collect(Collectors.groupingBy(slot -> slot.classRoom));
+        Map<Integer, List<Slot>> byInstructor = slots.stream().collect(Collectors.groupingBy(slot -> slot.instructorId));
+
+        Stream<List<ScheduleConflict>> classroomConflicts = byClassroom.entrySet().parallelStream()
+                .map(entry -> sweep(entry.getValue(), ScheduleConflict.Resource.CLASSROOM, entry.getKey()));
+        Stream<List<ScheduleConflict>> instructorConflicts = byInstructor.entrySet().parallelStream()
+                .map(entry -> sweep(entry.getValue(), ScheduleConflict.Resource.INSTRUCTOR, String.valueOf(entry.getKey())));
+        return Stream.concat(classroomConflicts, instructorConflicts)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    // Visits slots in start order, keeping those still running in a queue ordered by end time.
+    // Whatever is still running when a slot starts overlaps it.
+    private static List<ScheduleConflict> sweep(List<Slot> slots, ScheduleConflict.Resource resource, String resourceKey) {
+        List<ScheduleConflict> conflicts = new ArrayList<ScheduleConflict>();
+        List<Slot> sorted = new ArrayList<Slot>(slots);
+        sorted.sort(Comparator.comparing((Slot slot) -> slot.start));
+        PriorityQueue<Slot> running = new PriorityQueue<Slot>(Comparator.comparing((Slot slot) -> slot.end));
+        for (Slot slot : sorted) {
+            while (!running.isEmpty() && !running.peek().end.isAfter(slot.start)) {
+                running.poll();
+            }
+            for (Slot other : running) {
+                conflicts.add(new ScheduleConflict(resource, resourceKey, slot.lessonId, other.lessonId));
+            }
+            running.add(slot);
+        }
+        return conflicts;
+    }
+
+    private static void addOverlaps(TreeMap<LocalDateTime, Slot> slots, Slot slot, ScheduleConflict.Resource resource,
+                                    String resourceKey, List<ScheduleConflict> conflicts) {
+        if (slots == null) {
+            return;
+        }
+        Map.Entry<LocalDateTime, Slot> before = slots.floorEntry(slot.start);
+        if (before != null && before.getValue().end.isAfter(slot.start) && before.getValue().lessonId != slot.lessonId) {
+            conflicts.add(new ScheduleConflict(resource, resourceKey, slot.lessonId, before.getValue().lessonId));
+        }
+        for (Slot later : slots.subMap(slot.start, false, slot.end, false).values()) {
+            if (later.lessonId != slot.lessonId) {
+                conflicts.add(new ScheduleConflict(resource, resourceKey, slot.lessonId, later.lessonId));
+            }
+        }
+    }
+
+    private static <K> TreeMap<LocalDateTime, Slot> slotsFor(Map<K, TreeMap<LocalDateTime, Slot>> slotsByKey, K key) {
+        TreeMap<LocalDateTime, Slot> slots = slotsByKey.get(key);
+        if (slots == null) {
+            slots = new TreeMap<LocalDateTime, Slot>();
+            slotsByKey.put(key, slots);
+        }
+        return slots;
+    }
+
+    private static class Slot {
+        private final int lessonId;
+        private final String classRoom;
+        private final int instructorId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Slot(int lessonId, String classRoom, int instructorId, LocalDateTime start, LocalDateTime end) {
+            this.lessonId = lessonId;
+            this.classRoom = classRoom;
+            this.instructorId = instructorId;
+            this.start = start;
+            this.end = end;
+        }
+
+        private static Slot of(Lesson lesson) {
+            if (lesson.getStartTime() == null || lesson.getEndTime() == null || !lesson.getEndTime().isAfter(lesson.getStartTime())) {
+                return null;
+            }
+            return new Slot(lesson.getId(), lesson.getClassRoom(), lesson.getInstructor().getId(), lesson.getStartTime(), lesson.getEndTime());
+        }
+    }
+}
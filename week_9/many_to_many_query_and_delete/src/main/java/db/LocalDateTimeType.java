@@ -0,0 +1,66 @@
+package db;
+
+import org.hibernate.HibernateException;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+// Maps java.time.LocalDateTime to a SQL TIMESTAMP column, alongside LocalDateType
+public class LocalDateTimeType implements UserType {
+
+    public int[] sqlTypes() {
+        return new int[] {Types.TIMESTAMP};
+    }
+
+    public Class returnedClass() {
+        return LocalDateTime.class;
+    }
+
+    public boolean equals(Object x, Object y) throws HibernateException {
+        return x == null ? y == null : x.equals(y);
+    }
+
+    public int hashCode(Object x) throws HibernateException {
+        return x.hashCode();
+    }
+
+    public Object nullSafeGet(ResultSet rs, String[] names, Object owner) throws HibernateException, SQLException {
+        Timestamp timestamp = rs.getTimestamp(names[0]);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    public void nullSafeSet(PreparedStatement st, Object value, int index) throws HibernateException, SQLException {
+        if (value == null) {
+            st.setNull(index, Types.TIMESTAMP);
+        } else {
+            st.setTimestamp(index, Timestamp.valueOf((LocalDateTime) value));
+        }
+    }
+
+    // LocalDateTime is immutable, so values can be shared and cached as they are
+    public Object deepCopy(Object value) throws HibernateException {
+        return value;
+    }
+
+    public boolean isMutable() {
+        return false;
+    }
+
+    public Serializable disassemble(Object value) throws HibernateException {
+        return (Serializable) value;
+    }
+
+    public Object assemble(Serializable cached, Object owner) throws HibernateException {
+        return cached;
+    }
+
+    public Object replace(Object original, Object target, Object owner) throws HibernateException {
+        return original;
+    }
+}
@@ -0,0 +1,66 @@
+package db;
+
+import org.hibernate.HibernateException;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+
+// Maps java.time.LocalDate to a SQL DATE column, which this version of Hibernate can't do on its own
+public class LocalDateType implements UserType {
+
+    public int[] sqlTypes() {
+        return new int[] {Types.DATE};
+    }
+
+    public Class returnedClass() {
+        return LocalDate.class;
+    }
+
+    public boolean equals(Object x, Object y) throws HibernateException {
+        return x == null ? y == null : x.equals(y);
+    }
+
+    public int hashCode(Object x) throws HibernateException {
+        return x.hashCode();
+    }
+
+    public Object nullSafeGet(ResultSet rs, String[] names, Object owner) throws HibernateException, SQLException {
+        Date date = rs.getDate(names[0]);
+        return date == null ? null : date.toLocalDate();
+    }
+
+    public void nullSafeSet(PreparedStatement st, Object value, int index) throws HibernateException, SQLException {
+        if (value == null) {
+            st.setNull(index, Types.DATE);
+        } else {
+            st.setDate(index, Date.valueOf((LocalDate) value));
+        }
+    }
+
+    // LocalDate is immutable, so values can be shared and cached as they are
+    public Object deepCopy(Object value) throws HibernateException {
+        return value;
+    }
+
+    public boolean isMutable() {
+        return false;
+    }
+
+    public Serializable disassemble(Object value) throws HibernateException {
+        return (Serializable) value;
+    }
+
+    public Object assemble(Serializable cached, Object owner) throws HibernateException {
+        return cached;
+    }
+
+    public Object replace(Object original, Object target, Object owner) throws HibernateException {
+        return original;
+    }
+}
@@ -0,0 +1,44 @@
+package db;
+
+// Two lessons booked into the same classroom, or given to the same instructor, at overlapping times
+public class ScheduleConflict {
+
+    public enum Resource {
+        CLASSROOM,
+        INSTRUCTOR
+    }
+
+    private Resource resource;
+    private String resourceKey;
+    private int lessonId;
+    private int conflictingLessonId;
+
+    public ScheduleConflict(Resource resource, String resourceKey, int lessonId, int conflictingLessonId) {
+        this.resource = resource;
+        this.resourceKey = resourceKey;
+        this.lessonId = lessonId;
+        this.conflictingLessonId = conflictingLessonId;
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    // The classroom name, or the instructor's id
+    public String getResourceKey() {
+        return resourceKey;
+    }
+
+    public int getLessonId() {
+        return lessonId;
+    }
+
+    public int getConflictingLessonId() {
+        return conflictingLessonId;
+    }
+
+    @Override
+    public String toString() {
+        return resource + " " + resourceKey + ": lesson " + lessonId + " overlaps lesson " + conflictingLessonId;
+    }
+}
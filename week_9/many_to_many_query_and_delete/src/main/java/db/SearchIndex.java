@@ -0,0 +1,233 @@
+package db;
+
+import models.Course;
+import models.Instructor;
+import models.Student;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Inverted index over student names, course titles and levels, and instructor names.
+// Every word is indexed under each of its prefixes, so "bar" finds "Bart", and under each of its
+// trigrams, so "art" finds "Bart" too. A result must match every word of the query; a whole-word
+// match scores 3, a prefix 2 and a match inside a word 1. Postings are concurrent sets, so the index
+// can be filled from several threads at once and searched while it is being updated.
+public class SearchIndex {
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int INFIX_SCORE = 1;
+
+    private final Map<String, Document> documents = new ConcurrentHashMap<String, Document>();
+    private final Map<String, Set<String>> prefixPostings = new ConcurrentHashMap<String, Set<String>>();
+    private final Map<String, Set<String>> trigramPostings = new ConcurrentHashMap<String, Set<String>>();
+
+    // Indexes a Student, Course or Instructor, replacing whatever was indexed for it before
+    public void add(Object entity) {
+        Document document = Document.of(entity);
+        if (document == null) {
+            return;
+        }
+        remove(entity);
+        documents.put(document.key, document);
+        for (String word : document.words) {
+            for (int end = 1; end <= word.length(); end++) {
+                addPosting(prefixPostings, word.substring(0, end), document.key);
+            }
+            for (String trigram : trigrams(word)) {
+                addPosting(trigramPostings, trigram, document.key);
+            }
+        }
+    }
+
+    public void remove(Object entity) {
+        Document document = Document.of(entity);
+        if (document == null) {
+            return;
+        }
+        Document indexed = documents.remove(document.key);
+        if (indexed == null) {
+            return;
+        }
+        for (String word : indexed.words) {
+            for (int end = 1; end <= word.length(); end++) {
+                removePosting(prefixPostings, word.substring(0, end), indexed.key);
+            }
+            for (String trigram : trigrams(word)) {
+                removePosting(trigramPostings, trigram, indexed.key);
+            }
+        }
+    }
+
+    public List<SearchResult> search(String query, int limit) {
+        List<String> queryWords = Document.words(query);
+        List<SearchResult> results = new ArrayList<SearchResult>();
+        if (queryWords.isEmpty()) {
+            return results;
+        }
+
+        Set<String> candidates = null;
+        for (String queryWord : queryWords) {
+            Set<String> matches = candidatesFor(queryWord);
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return results;
+            }
+        }
+
+        for (String key : candidates) {
+            Document document = documents.get(key);
+            if (document == null) {
+                continue;
+            }
+            int score = 0;
+            for (String queryWord : queryWords) {
+                int wordScore = document.score(queryWord);
+                if (wordScore == 0) {
+                    score = 0;
+                    break;
+                }
+                score += wordScore;
+            }
+            if (score > 0) {
+                results.add(new SearchResult(document.type, document.id, document.label, score));
+            }
+        }
+        results.sort(Comparator.comparingInt(SearchResult::getScore).reversed()
+                .thenComparingInt(result -> result.getLabel().length())
+                .thenComparing(SearchResult::getLabel));
+        return results.size() > limit ? new ArrayList<SearchResult>(results.subList(0, limit)) : results;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // Distinct prefixes and trigrams with at least one document under them
+    int termCount() {
+        return prefixPostings.size() + trigramPostings.size();
+    }
+
+    // Documents with a word starting with, or (for three letters or more) containing, the query word.
+    // Trigram hits are only candidates; Document.score confirms the word really contains it.
+    private Set<String> candidatesFor(String queryWord) {
+        Set<String> matches = new HashSet<String>(prefixPostings.getOrDefault(queryWord, Collections.<String>emptySet()));
+        List<String> queryTrigrams = trigrams(queryWord);
+        if (queryTrigrams.isEmpty()) {
+            return matches;
+        }
+        Set<String> infixMatches = null;
+        for (String trigram : queryTrigrams) {
+            Set<String> postings = trigramPostings.getOrDefault(trigram, Collections.<String>emptySet());
+            if (infixMatches == null) {
+                infixMatches = new HashSet<String>(postings);
+            } else {
+                infixMatches.retainAll(postings);
+            }
+        }
+        matches.addAll(infixMatches);
+        return matches;
+    }
+
+    // Postings are added and removed inside compute, so a set emptied and dropped by removePosting
+    // can't be added to by another thread that fetched it just before
+    private static void addPosting(Map<String, Set<String>> postings, String term, String key) {
+        postings.compute(term, (t, keys) -> {
+            if (keys == null) {
+                keys = ConcurrentHashMap.<String>newKeySet();
+            }
+            keys.add(key);
+            return keys;
+        });
+    }
+
+    // Drops the term once nothing is left under it, so removed words don't stay in the index as empty sets
+    private static void removePosting(Map<String, Set<String>> postings, String term, String key) {
+        postings.computeIfPresent(term, (t, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static List<String> trigrams(String word) {
+        List<String> trigrams = new ArrayList<String>();
+        for (int start = 0; start + 3 <= word.length(); start++) {
+            trigrams.add(word.substring(start, start + 3));
+        }
+        return trigrams;
+    }
+
+    private static class Document {
+        private final String key;
+        private final String type;
+        private final int id;
+        private final String label;
+        private final List<String> words;
+
+        // A missing name or title is indexed, labelled and sorted as ""
+        private Document(String type, int id, String label, String text) {
+            this.key = type + ":" + id;
+            this.type = type;
+            this.id = id;
+            this.label = label == null ? "" : label;
+            this.words = words(text);
+        }
+
+        private static Document of(Object entity) {
+            if (entity instanceof Student) {
+                Student student = (Student) entity;
+                return new Document("Student", student.getId(), student.getName(), student.getName());
+            }
+            if (entity instanceof Course) {
+                Course course = (Course) entity;
+                return new Document("Course", course.getId(), course.getTitle(), orEmpty(course.getTitle()) + " " + orEmpty(course.getLevel()));
+            }
+            if (entity instanceof Instructor) {
+                Instructor instructor = (Instructor) entity;
+                return new Document("Instructor", instructor.getId(), instructor.getName(), instructor.getName());
+            }
+            return null;
+        }
+
+        private static String orEmpty(String text) {
+            return text == null ? "" : text;
+        }
+
+        private static List<String> words(String text) {
+            List<String> words = new ArrayList<String>();
+            if (text == null) {
+                return words;
+            }
+            for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+            return words;
+        }
+
+        private int score(String queryWord) {
+            int best = 0;
+            for (String word : words) {
+                if (word.equals(queryWord)) {
+                    return EXACT_SCORE;
+                } else if (word.startsWith(queryWord)) {
+                    best = Math.max(best, PREFIX_SCORE);
+                } else if (word.contains(queryWord)) {
+                    best = Math.max(best, INFIX_SCORE);
+                }
+            }
+            return best;
+        }
+    }
+}
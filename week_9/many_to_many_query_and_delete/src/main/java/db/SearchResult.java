@@ -0,0 +1,38 @@
+package db;
+
+public class SearchResult {
+
+    private String type;
+    private int id;
+    private String label;
+    private int score;
+
+    public SearchResult(String type, int id, String label, int score) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.score = score;
+    }
+
+    // The entity's class name, e.g. "Student"
+    public String getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + id + " " + label + " (" + score + ")";
+    }
+}
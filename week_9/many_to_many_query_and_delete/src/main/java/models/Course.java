@@ -1,20 +1,24 @@
 package models;
 
 import org.hibernate.annotations.Cascade;
+import org.hibernate.annotations.Index;
+import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
-import java.util.GregorianCalendar;
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name="courses")
+@org.hibernate.annotations.Table(appliesTo = "courses",
+        indexes = {@Index(name = "courses_date_range_idx", columnNames = {"start_date", "end_date"})})
 public class Course {
     private int id;
     private String title;
     private String level;
-    private GregorianCalendar startDate;
-    private GregorianCalendar endDate;
+    private LocalDate startDate;
+    private LocalDate endDate;
     private Set<Student> students;
     private Set<Lesson> lessons;
     private Set<Instructor> instructors;
@@ -22,7 +26,7 @@ public class Course {
     public Course() {
     }
 
-    public Course(String title, String level, GregorianCalendar startDate, GregorianCalendar endDate) {
+    public Course(String title, String level, LocalDate startDate, LocalDate endDate) {
         this.title = title;
         this.level = level;
         this.startDate = startDate;
@@ -31,7 +35,8 @@ public class Course {
     }
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     @Column(name = "id")
     public int getId() {
         return id;
@@ -95,20 +100,22 @@ public class Course {
     }
 
     @Column(name="start_date")
-    public GregorianCalendar getStartDate() {
+    @Type(type = "db.LocalDateType")
+    public LocalDate getStartDate() {
         return startDate;
     }
 
-    public void setStartDate(GregorianCalendar startDate) {
+    public void setStartDate(LocalDate startDate) {
         this.startDate = startDate;
     }
 
     @Column(name="end_date")
-    public GregorianCalendar getEndDate() {
+    @Type(type = "db.LocalDateType")
+    public LocalDate getEndDate() {
         return endDate;
     }
 
-    public void setEndDate(GregorianCalendar endDate) {
+    public void setEndDate(LocalDate endDate) {
         this.endDate = endDate;
     }
 
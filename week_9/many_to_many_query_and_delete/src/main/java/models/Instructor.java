@@ -25,7 +25,8 @@ public class Instructor {
     }
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "instructor_seq")
+    @SequenceGenerator(name = "instructor_seq", sequenceName = "instructor_seq", allocationSize = 50)
     @Column(name = "id")
     public int getId() {
         return id;
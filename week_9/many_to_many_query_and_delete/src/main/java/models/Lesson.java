@@ -1,8 +1,10 @@
 package models;
 
 import org.hibernate.annotations.Cascade;
+import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -16,6 +18,8 @@ public class Lesson {
     private Course course;
     private Instructor instructor;
     private Set<Student> students;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
 
     public Lesson() {
     }
@@ -28,8 +32,15 @@ public class Lesson {
         this.students = new HashSet<Student>();
     }
 
+    public Lesson(String title, String classRoom, Course course, Instructor instructor, LocalDateTime startTime, LocalDateTime endTime) {
+        this(title, classRoom, course, instructor);
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_seq")
+    @SequenceGenerator(name = "lesson_seq", sequenceName = "lesson_seq", allocationSize = 50)
     @Column(name = "id")
     public int getId() {
         return id;
@@ -92,4 +103,24 @@ public class Lesson {
     public void setInstructor(Instructor instructor) {
         this.instructor = instructor;
     }
+
+    @Column(name="start_time")
+    @Type(type = "db.LocalDateTimeType")
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    @Column(name="end_time")
+    @Type(type = "db.LocalDateTimeType")
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
 }
@@ -0,0 +1,17 @@
+-- Moves an existing database from per-row id generation to the pooled sequences
+-- declared with @SequenceGenerator(allocationSize = 50).
+-- Each sequence is placed past the current max id, so the first block Hibernate
+-- reserves cannot collide with rows that are already there.
+-- Run once against the database before starting the app with the new mappings.
+
+CREATE SEQUENCE student_seq INCREMENT BY 50;
+SELECT setval('student_seq', COALESCE((SELECT MAX(id) FROM students), 0) + 51, false);
+
+CREATE SEQUENCE course_seq INCREMENT BY 50;
+SELECT setval('course_seq', COALESCE((SELECT MAX(id) FROM courses), 0) + 51, false);
+
+CREATE SEQUENCE lesson_seq INCREMENT BY 50;
+SELECT setval('lesson_seq', COALESCE((SELECT MAX(id) FROM lessons), 0) + 51, false);
+
+CREATE SEQUENCE instructor_seq INCREMENT BY 50;
+SELECT setval('instructor_seq', COALESCE((SELECT MAX(id) FROM instructors), 0) + 51, false);
@@ -0,0 +1,182 @@
+package db;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestCompressedBitmap {
+
+    CompressedBitmap bitmap;
+
+    @Before
+    public void before(){
+        bitmap = new CompressedBitmap();
+    }
+
+    @Test
+    public void startsEmpty(){
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.cardinality());
+        assertFalse(bitmap.contains(0));
+    }
+
+    @Test
+    public void canAddAndRemoveValues(){
+        bitmap.add(3);
+        bitmap.add(70000);
+        bitmap.add(3);
+        assertEquals(2, bitmap.cardinality());
+        assertTrue(bitmap.contains(3));
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(4));
+        bitmap.remove(70000);
+        bitmap.remove(12);
+        assertEquals(1, bitmap.cardinality());
+        assertFalse(bitmap.contains(70000));
+    }
+
+    @Test
+    public void removingTheLastValueLeavesItEmpty(){
+        bitmap.add(5);
+        bitmap.remove(5);
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void visitsValuesInOrder(){
+        bitmap.add(200000);
+        bitmap.add(7);
+        bitmap.add(65536);
+        bitmap.add(1);
+        assertEquals(listOf(1, 7, 65536, 200000), values(bitmap));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeValues(){
+        bitmap.add(-1);
+    }
+
+    @Test
+    public void staysCorrectWhenAChunkFillsUpAndEmptiesAgain(){
+        for (int value = 0; value < 10000; value++) {
+            bitmap.add(value);
+        }
+        assertEquals(10000, bitmap.cardinality());
+        assertTrue(bitmap.contains(9999));
+        for (int value = 0; value < 10000; value += 2) {
+            bitmap.remove(value);
+        }
+        assertEquals(5000, bitmap.cardinality());
+        assertFalse(bitmap.contains(9998));
+        assertTrue(bitmap.contains(9999));
+        for (int value = 1; value < 10000; value += 2) {
+            bitmap.remove(value);
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void andKeepsOnlyCommonValues(){
+        CompressedBitmap other = new CompressedBitmap();
+        bitmap.add(1);
+        bitmap.add(2);
+        bitmap.add(100000);
+        other.add(2);
+        other.add(100000);
+        other.add(300000);
+        bitmap.and(other);
+        assertEquals(listOf(2, 100000), values(bitmap));
+        assertEquals(3, other.cardinality());
+    }
+
+    @Test
+    public void orAddsAllValues(){
+        CompressedBitmap other = new CompressedBitmap();
+        bitmap.add(1);
+        other.add(2);
+        other.add(100000);
+        bitmap.or(other);
+        assertEquals(listOf(1, 2, 100000), values(bitmap));
+        other.add(5);
+        assertFalse(bitmap.contains(5));
+    }
+
+    @Test
+    public void copyIsIndependent(){
+        bitmap.add(1);
+        CompressedBitmap copy = bitmap.copy();
+        copy.add(2);
+        bitmap.remove(1);
+        assertTrue(bitmap.isEmpty());
+        assertEquals(listOf(1, 2), values(copy));
+    }
+
+    @Test
+    public void matchesBitSetForRandomOperations(){
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            int range = round % 2 == 0 ? 20000 : 300000;
+            int count = random.nextInt(15000);
+            CompressedBitmap left = new CompressedBitmap();
+            CompressedBitmap right = new CompressedBitmap();
+            BitSet expectedLeft = new BitSet();
+            BitSet expectedRight = new BitSet();
+            for (int i = 0; i < count; i++) {
+                int value = random.nextInt(range);
+                left.add(value);
+                expectedLeft.set(value);
+                value = random.nextInt(range);
+                right.add(value);
+                expectedRight.set(value);
+                if (random.nextInt(4) == 0) {
+                    value = random.nextInt(range);
+                    left.remove(value);
+                    expectedLeft.clear(value);
+                }
+            }
+            assertEquals(toList(expectedLeft), values(left));
+
+            CompressedBitmap and = left.copy();
+            and.and(right);
+            BitSet expectedAnd = (BitSet) expectedLeft.clone();
+            expectedAnd.and(expectedRight);
+            assertEquals(toList(expectedAnd), values(and));
+            assertEquals(expectedAnd.cardinality(), and.cardinality());
+
+            CompressedBitmap or = left.copy();
+            or.or(right);
+            BitSet expectedOr = (BitSet) expectedLeft.clone();
+            expectedOr.or(expectedRight);
+            assertEquals(toList(expectedOr), values(or));
+            assertEquals(expectedOr.cardinality(), or.cardinality());
+        }
+    }
+
+    private static List<Integer> values(CompressedBitmap bitmap) {
+        List<Integer> values = new ArrayList<Integer>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+
+    private static List<Integer> toList(BitSet bits) {
+        List<Integer> values = new ArrayList<Integer>();
+        bits.stream().forEach(values::add);
+        return values;
+    }
+
+    private static List<Integer> listOf(int... values) {
+        List<Integer> list = new ArrayList<Integer>();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,100 @@
+package db;
+
+import models.Course;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestCourseCalendar {
+
+    CourseCalendar calendar;
+    Course january;
+    Course spring;
+    Course march;
+
+    @Before
+    public void before(){
+        january = course(1, "January", date(1, 1), date(1, 31));
+        spring = course(2, "Spring", date(3, 1), date(5, 31));
+        march = course(3, "March", date(3, 1), date(3, 31));
+        Course undated = course(4, "Undated", null, null);
+        calendar = new CourseCalendar(Arrays.asList(spring, undated, march, january));
+    }
+
+    @Test
+    public void leavesOutUndatedCourses(){
+        assertEquals(3, calendar.size());
+    }
+
+    @Test
+    public void findsCoursesActiveOnADay(){
+        assertEquals(Arrays.asList(january), calendar.getActiveOn(date(1, 15)));
+        assertEquals(Collections.emptyList(), calendar.getActiveOn(date(2, 15)));
+        assertEquals(Arrays.asList(spring), calendar.getActiveOn(date(4, 1)));
+    }
+
+    @Test
+    public void includesTheFirstAndLastDays(){
+        assertEquals(Arrays.asList(january), calendar.getActiveOn(date(1, 31)));
+        assertEquals(2, calendar.getActiveOn(date(3, 1)).size());
+    }
+
+    @Test
+    public void findsCoursesOverlappingARange(){
+        assertEquals(3, calendar.getBetween(date(1, 31), date(3, 1)).size());
+        assertEquals(Arrays.asList(spring), calendar.getBetween(date(4, 1), date(12, 31)));
+        assertEquals(Collections.emptyList(), calendar.getBetween(date(6, 1), date(12, 31)));
+    }
+
+    @Test
+    public void anEmptyCalendarFindsNothing(){
+        assertTrue(new CourseCalendar(new ArrayList<Course>()).getActiveOn(date(1, 1)).isEmpty());
+    }
+
+    @Test
+    public void matchesAScanOfEveryCourse(){
+        Random random = new Random(7);
+        List<Course> courses = new ArrayList<Course>();
+        for (int id = 1; id <= 500; id++) {
+            LocalDate start = date(1, 1).plusDays(random.nextInt(700));
+            courses.add(course(id, "Course " + id, start, start.plusDays(random.nextInt(120))));
+        }
+        CourseCalendar large = new CourseCalendar(courses);
+        for (int query = 0; query < 200; query++) {
+            LocalDate from = date(1, 1).plusDays(random.nextInt(900) - 100);
+            LocalDate to = from.plusDays(random.nextInt(60));
+            List<Integer> expected = new ArrayList<Integer>();
+            for (Course course : courses) {
+                if (!course.getStartDate().isAfter(to) && !course.getEndDate().isBefore(from)) {
+                    expected.add(course.getId());
+                }
+            }
+            List<Integer> actual = new ArrayList<Integer>();
+            for (Course course : large.getBetween(from, to)) {
+                actual.add(course.getId());
+            }
+            Collections.sort(expected);
+            Collections.sort(actual);
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static Course course(int id, String title, LocalDate start, LocalDate end) {
+        Course course = new Course(title, "Beginner", start, end);
+        course.setId(id);
+        return course;
+    }
+
+    private static LocalDate date(int month, int day) {
+        return LocalDate.of(2018, month, day);
+    }
+}
@@ -0,0 +1,118 @@
+package db;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestEnrolmentIndex {
+
+    EnrolmentIndex index;
+
+    @Before
+    public void before(){
+        index = new EnrolmentIndex();
+        index.enrol(1, 10);
+        index.enrol(2, 10);
+        index.enrol(2, 20);
+        index.enrol(3, 20);
+        index.enrol(3, 30);
+    }
+
+    @Test
+    public void knowsWhoIsEnrolled(){
+        assertTrue(index.isEnrolled(2, 20));
+        assertFalse(index.isEnrolled(1, 20));
+        assertFalse(index.isEnrolled(9, 10));
+    }
+
+    @Test
+    public void countsStudentsInALesson(){
+        assertEquals(2, index.headcount(10));
+        assertEquals(1, index.headcount(30));
+        assertEquals(0, index.headcount(99));
+    }
+
+    @Test
+    public void canUnenrol(){
+        index.unenrol(2, 10);
+        assertFalse(index.isEnrolled(2, 10));
+        assertEquals(Arrays.asList(1), index.getStudentsInLesson(10));
+        assertEquals(Arrays.asList(20), index.getSharedLessons(2, 3));
+    }
+
+    @Test
+    public void findsStudentsInAllLessons(){
+        assertEquals(Arrays.asList(2), index.getStudentsInAllLessons(10, 20));
+        assertEquals(Collections.emptyList(), index.getStudentsInAllLessons(10, 30));
+        assertEquals(Collections.emptyList(), index.getStudentsInAllLessons());
+    }
+
+    @Test
+    public void findsStudentsInAnyLesson(){
+        assertEquals(Arrays.asList(1, 2, 3), index.getStudentsInAnyLesson(10, 30));
+        assertEquals(Collections.emptyList(), index.getStudentsInAnyLesson(99));
+    }
+
+    @Test
+    public void findsClassmates(){
+        assertEquals(Arrays.asList(1, 3), index.getClassmates(2));
+        assertEquals(Collections.emptyList(), index.getClassmates(99));
+    }
+
+    @Test
+    public void findsSharedLessons(){
+        assertEquals(Arrays.asList(10), index.getSharedLessons(1, 2));
+        assertEquals(Collections.emptyList(), index.getSharedLessons(1, 3));
+    }
+
+    @Test
+    public void removingAStudentTakesThemOutOfEveryLesson(){
+        index.removeStudent(2);
+        assertEquals(Arrays.asList(1), index.getStudentsInLesson(10));
+        assertEquals(Arrays.asList(3), index.getStudentsInLesson(20));
+        assertEquals(Collections.emptyList(), index.getClassmates(2));
+    }
+
+    @Test
+    public void removedLessonsAreLeftOutOfHeadcounts(){
+        index.removeLesson(20);
+        Map<Integer, Integer> expected = new LinkedHashMap<Integer, Integer>();
+        expected.put(10, 2);
+        expected.put(30, 1);
+        assertEquals(expected, index.headcounts());
+        assertFalse(index.isEnrolled(2, 20));
+        assertEquals(Collections.emptyList(), index.getSharedLessons(2, 3));
+    }
+
+    @Test
+    public void aRemovedLessonCanBeEnrolledInAgain(){
+        index.removeLesson(20);
+        index.enrol(1, 20);
+        assertEquals(Arrays.asList(1), index.getStudentsInLesson(20));
+        assertEquals(Integer.valueOf(1), index.headcounts().get(20));
+        assertEquals(3, index.headcounts().size());
+    }
+
+    @Test
+    public void handlesManyStudents(){
+        EnrolmentIndex large = new EnrolmentIndex();
+        for (int student = 1; student <= 100000; student++) {
+            large.enrol(student, 1);
+            if (student % 1000 == 0) {
+                large.enrol(student, 2);
+            }
+        }
+        assertEquals(100000, large.headcount(1));
+        assertEquals(100, large.headcount(2));
+        assertEquals(100, large.getStudentsInAllLessons(1, 2).size());
+        assertEquals(Arrays.asList(1, 2), large.getSharedLessons(1000, 2000));
+    }
+}
@@ -0,0 +1,145 @@
+package db;
+
+import models.Instructor;
+import models.Lesson;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestLessonScheduler {
+
+    LessonScheduler scheduler;
+    Instructor alice;
+    Instructor bob;
+    int nextLessonId;
+
+    @Before
+    public void before(){
+        scheduler = new LessonScheduler();
+        alice = instructor(1, "Alice");
+        bob = instructor(2, "Bob");
+        nextLessonId = 1;
+    }
+
+    @Test
+    public void booksAFreeSlot(){
+        assertTrue(scheduler.book(lesson("Room 1", alice, 9, 10)).isEmpty());
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    public void backToBackLessonsDontClash(){
+        scheduler.book(lesson("Room 1", alice, 9, 10));
+        assertTrue(scheduler.book(lesson("Room 1", alice, 10, 11)).isEmpty());
+        assertTrue(scheduler.book(lesson("Room 1", alice, 8, 9)).isEmpty());
+        assertEquals(3, scheduler.size());
+    }
+
+    @Test
+    public void clashesWithALessonStartingEarlier(){
+        Lesson booked = lesson("Room 1", alice, 9, 11);
+        scheduler.book(booked);
+        List<ScheduleConflict> conflicts = scheduler.findConflicts(lesson("Room 1", bob, 10, 12));
+        assertEquals(1, conflicts.size());
+        assertEquals(ScheduleConflict.Resource.CLASSROOM, conflicts.get(0).getResource());
+        assertEquals("Room 1", conflicts.get(0).getResourceKey());
+        assertEquals(booked.getId(), conflicts.get(0).getConflictingLessonId());
+    }
+
+    @Test
+    public void clashesWithEveryLessonStartingBeforeItEnds(){
+        scheduler.book(lesson("Room 1", alice, 9, 10));
+        scheduler.book(lesson("Room 1", alice, 10, 11));
+        scheduler.book(lesson("Room 1", alice, 11, 12));
+        scheduler.book(lesson("Room 1", alice, 12, 13));
+        assertEquals(3, scheduler.findConflicts(lesson("Room 1", bob, 8, 12)).size());
+        assertTrue(scheduler.findConflicts(lesson("Room 2", bob, 8, 12)).isEmpty());
+    }
+
+    @Test
+    public void clashesOverTheInstructorInAnotherRoom(){
+        scheduler.book(lesson("Room 1", alice, 9, 10));
+        List<ScheduleConflict> conflicts = scheduler.book(lesson("Room 2", alice, 9, 10));
+        assertEquals(1, conflicts.size());
+        assertEquals(ScheduleConflict.Resource.INSTRUCTOR, conflicts.get(0).getResource());
+        assertEquals("1", conflicts.get(0).getResourceKey());
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    public void aLessonWithoutARoomOnlyBooksItsInstructor(){
+        scheduler.book(lesson(null, alice, 9, 10));
+        assertTrue(scheduler.findConflicts(lesson("Room 1", bob, 9, 10)).isEmpty());
+        assertEquals(1, scheduler.findConflicts(lesson("Room 1", alice, 9, 10)).size());
+    }
+
+    @Test
+    public void lessonsWithoutATimeArentScheduled(){
+        Lesson untimed = new Lesson("Untimed", "Room 1", null, alice);
+        untimed.setId(nextLessonId++);
+        assertTrue(scheduler.book(untimed).isEmpty());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void rebookingALessonMovesIt(){
+        Lesson lesson = lesson("Room 1", alice, 9, 10);
+        scheduler.book(lesson);
+        lesson.setStartTime(at(9).plusMinutes(30));
+        lesson.setEndTime(at(10).plusMinutes(30));
+        assertTrue(scheduler.book(lesson).isEmpty());
+        assertEquals(1, scheduler.size());
+        assertTrue(scheduler.book(lesson("Room 1", bob, 8, 9)).isEmpty());
+    }
+
+    @Test
+    public void removingALessonFreesItsSlot(){
+        Lesson lesson = lesson("Room 1", alice, 9, 10);
+        scheduler.book(lesson);
+        scheduler.remove(lesson.getId());
+        assertEquals(0, scheduler.size());
+        assertTrue(scheduler.book(lesson("Room 1", alice, 9, 10)).isEmpty());
+    }
+
+    @Test
+    public void validateReportsEveryOverlappingPair(){
+        Lesson first = lesson("Room 1", alice, 9, 11);
+        Lesson second = lesson("Room 1", bob, 10, 12);
+        Lesson third = lesson("Room 2", bob, 11, 13);
+        Lesson fourth = lesson("Room 2", alice, 13, 14);
+        List<ScheduleConflict> conflicts = LessonScheduler.validate(Arrays.asList(first, second, third, fourth));
+        assertEquals(2, conflicts.size());
+        for (ScheduleConflict conflict : conflicts) {
+            if (conflict.getResource() == ScheduleConflict.Resource.CLASSROOM) {
+                assertEquals(second.getId(), conflict.getLessonId());
+                assertEquals(first.getId(), conflict.getConflictingLessonId());
+            } else {
+                assertEquals("2", conflict.getResourceKey());
+                assertEquals(third.getId(), conflict.getLessonId());
+                assertEquals(second.getId(), conflict.getConflictingLessonId());
+            }
+        }
+    }
+
+    private Lesson lesson(String classRoom, Instructor instructor, int startHour, int endHour) {
+        Lesson lesson = new Lesson("Lesson " + nextLessonId, classRoom, null, instructor, at(startHour), at(endHour));
+        lesson.setId(nextLessonId++);
+        return lesson;
+    }
+
+    private static Instructor instructor(int id, String name) {
+        Instructor instructor = new Instructor(name);
+        instructor.setId(id);
+        return instructor;
+    }
+
+    private static LocalDateTime at(int hour) {
+        return LocalDateTime.of(2018, 3, 5, hour, 0);
+    }
+}
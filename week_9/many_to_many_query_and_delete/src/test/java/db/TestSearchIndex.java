@@ -0,0 +1,135 @@
+package db;
+
+import models.Course;
+import models.Instructor;
+import models.Student;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestSearchIndex {
+
+    SearchIndex index;
+    Course course;
+    Student bart;
+    Student barbara;
+    Instructor art;
+
+    @Before
+    public void before(){
+        index = new SearchIndex();
+        course = course(1, "Software Development", "Beginner");
+        bart = student(1, "Bart Simpson");
+        barbara = student(2, "Barbara Gordon");
+        art = instructor(1, "Art Garfunkel");
+        index.add(course);
+        index.add(bart);
+        index.add(barbara);
+        index.add(art);
+    }
+
+    @Test
+    public void indexesEachEntityOnce(){
+        index.add(bart);
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void findsWholeWordsFirst(){
+        assertEquals(Arrays.asList("Art Garfunkel", "Bart Simpson"), labels(index.search("art", 10)));
+        assertEquals(Arrays.asList(3, 1), scores(index.search("art", 10)));
+    }
+
+    @Test
+    public void findsPrefixesAndOrdersTiesByLabel(){
+        assertEquals(Arrays.asList("Bart Simpson", "Barbara Gordon"), labels(index.search("bar", 10)));
+    }
+
+    @Test
+    public void everyQueryWordMustMatch(){
+        assertEquals(Arrays.asList("Bart Simpson"), labels(index.search("bar simp", 10)));
+        assertTrue(index.search("bart gordon", 10).isEmpty());
+    }
+
+    @Test
+    public void findsCoursesByLevel(){
+        List<SearchResult> results = index.search("beginner", 10);
+        assertEquals(1, results.size());
+        assertEquals("Course", results.get(0).getType());
+        assertEquals(1, results.get(0).getId());
+    }
+
+    @Test
+    public void limitsResults(){
+        assertEquals(1, index.search("bar", 1).size());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    public void reindexingReplacesTheOldWords(){
+        bart.setName("Lisa Simpson");
+        index.add(bart);
+        assertTrue(index.search("bart", 10).isEmpty());
+        assertEquals(Arrays.asList("Lisa Simpson"), labels(index.search("lisa", 10)));
+    }
+
+    @Test
+    public void removingEverythingLeavesNoTerms(){
+        index.remove(course);
+        index.remove(bart);
+        index.remove(barbara);
+        index.remove(art);
+        assertEquals(0, index.size());
+        assertEquals(0, index.termCount());
+        assertTrue(index.search("bar", 10).isEmpty());
+    }
+
+    @Test
+    public void aCourseWithoutATitleIsLabelledEmpty(){
+        index.add(course(2, null, "Beginner"));
+        List<SearchResult> results = index.search("beginner", 10);
+        assertEquals(Arrays.asList("", "Software Development"), labels(results));
+        assertTrue(index.search("null", 10).isEmpty());
+    }
+
+    private static List<String> labels(List<SearchResult> results) {
+        List<String> labels = new ArrayList<String>();
+        for (SearchResult result : results) {
+            labels.add(result.getLabel());
+        }
+        return labels;
+    }
+
+    private static List<Integer> scores(List<SearchResult> results) {
+        List<Integer> scores = new ArrayList<Integer>();
+        for (SearchResult result : results) {
+            scores.add(result.getScore());
+        }
+        return scores;
+    }
+
+    private static Course course(int id, String title, String level) {
+        Course course = new Course(title, level, LocalDate.of(2018, 1, 8), LocalDate.of(2018, 4, 13));
+        course.setId(id);
+        return course;
+    }
+
+    private static Student student(int id, String name) {
+        Student student = new Student(name, 20, id, null);
+        student.setId(id);
+        return student;
+    }
+
+    private static Instructor instructor(int id, String name) {
+        Instructor instructor = new Instructor(name);
+        instructor.setId(id);
+        return instructor;
+    }
+}